@@ -0,0 +1,72 @@
+package no.nav.data.common.auditing;
+
+import lombok.extern.slf4j.Slf4j;
+import no.nav.data.common.auditing.domain.AuditVersionRepository;
+import no.nav.data.common.auditing.dto.AuditMetadata;
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.web.CatalogVersion;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Publishes {@link StorageChangedEvent}s for audited changes, so in-memory state is kept in sync with writes made by other instances.
+ * Changes made by this instance are published again, listeners must handle duplicates.
+ * The latest audit seen is the audited part of the {@link CatalogVersion}.
+ */
+@Slf4j
+@Component
+public class AuditChangePoller {
+
+    /**
+     * Audit time is set before commit, look back far enough to include slow transactions
+     */
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final AuditVersionRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private LocalDateTime lastPoll = LocalDateTime.now();
+    private Set<UUID> seen = Set.of();
+    private boolean initialized;
+
+    public AuditChangePoller(AuditVersionRepository repository, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(initialDelayString = "PT10S", fixedDelayString = "PT10S")
+    public void poll() {
+        if (!initialized) {
+            // writes before start are not polled, the version starts from the latest of them
+            repository.getLatestMetadata().ifPresent(latest -> CatalogVersion.audited(latest.getTime(), latest.getId()));
+            initialized = true;
+        }
+        var pollTime = LocalDateTime.now();
+        List<AuditMetadata> changes = repository.getAllMetadataSince(lastPoll.minus(OVERLAP));
+        var unseen = changes.stream().filter(c -> !seen.contains(c.getId())).toList();
+
+        unseen.stream()
+                .collect(groupingBy(AuditMetadata::getTableName, mapping(AuditMetadata::getTableId, toList())))
+                .forEach((type, ids) -> eventPublisher.publishEvent(new StorageChangedEvent(type, ids)));
+
+        // a change may commit after a later one was seen, only the latest changes the version
+        changes.forEach(change -> CatalogVersion.audited(change.getTime(), change.getId()));
+        if (!unseen.isEmpty()) {
+            log.debug("Published {} audited changes", unseen.size());
+        }
+        seen = new HashSet<>(changes.stream().map(AuditMetadata::getId).toList());
+        lastPoll = pollTime;
+    }
+}
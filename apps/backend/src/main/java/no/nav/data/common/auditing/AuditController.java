@@ -1,8 +1,12 @@
 package no.nav.data.common.auditing;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.auditing.domain.AuditVersion;
 import no.nav.data.common.auditing.domain.AuditVersionRepository;
@@ -12,6 +16,8 @@ import no.nav.data.common.auditing.dto.AuditResponse;
 import no.nav.data.common.auditing.dto.MailLogResponse;
 import no.nav.data.common.rest.PageParameters;
 import no.nav.data.common.rest.RestResponsePage;
+import no.nav.data.common.rest.StreamingJson;
+import no.nav.data.common.rest.StreamingJson.Envelope;
 import no.nav.data.common.security.azure.support.MailLog;
 import no.nav.data.common.storage.StorageService;
 import no.nav.data.common.storage.domain.GenericStorage;
@@ -26,11 +32,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.UUID;
 
-import static no.nav.data.common.utils.StreamUtils.convert;
-
 @Slf4j
 @RestController
 @RequestMapping("/audit")
@@ -63,12 +66,12 @@ public class AuditController {
     }
 
     @Operation(summary = "Get Audit log for object")
-    @ApiResponse(description = "Audit log fetched")
+    @ApiResponse(description = "Audit log fetched", content = @Content(schema = @Schema(implementation = AuditLogResponse.class)))
     @GetMapping("/log/{id}")
-    public ResponseEntity<AuditLogResponse> findForId(@PathVariable String id) {
+    public void findForId(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) {
         log.info("Received request for Audit with the id={}", id);
-        List<AuditVersion> log = repository.findByTableIdOrderByTimeDesc(id);
-        return new ResponseEntity<>(new AuditLogResponse(id, convert(log, AuditVersion::convertToResponse)), HttpStatus.OK);
+        var audits = repository.streamByTableIdOrderByTimeDesc(id).map(AuditVersion::convertToResponse);
+        StreamingJson.write(audits, Envelope.field("audits", "id", id), request, response);
     }
 
     @Operation(summary = "Get mail log")
@@ -92,12 +95,12 @@ public class AuditController {
     }
 
     @Operation(summary = "Get mail log for user")
-    @ApiResponse(description = "Mail log fetched")
+    @ApiResponse(description = "Mail log fetched", content = @Content(schema = @Schema(implementation = MailLogPage.class)))
     @GetMapping("/maillog/user/{user}")
-    public ResponseEntity<RestResponsePage<MailLogResponse>> getMailLogForUser(@PathVariable String user) {
+    public void getMailLogForUser(@PathVariable String user, HttpServletRequest request, HttpServletResponse response) {
         log.info("Received request for MailLog for user {}", user);
-        var list = mailLogRepository.findByTo(user);
-        return new ResponseEntity<>(new RestResponsePage<>(convert(list, gs -> gs.toMailLog().convertToResponse())), HttpStatus.OK);
+        var mails = mailLogRepository.streamByTo(user).map(gs -> gs.toMailLog().convertToResponse());
+        StreamingJson.writePage(mails, request, response);
     }
 
     static class AuditLogPage extends RestResponsePage<AuditResponse> {
@@ -23,6 +23,7 @@ import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.common.utils.HibernateUtils;
 import no.nav.data.common.utils.JsonUtils;
 import no.nav.data.common.utils.MdcUtils;
+import no.nav.data.common.web.CatalogVersion;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.util.Assert;
 
@@ -73,6 +74,9 @@ public class AuditVersionListener {
         AuditVersion auditVersion = convertAuditVersion(entity, action);
         if (auditVersion != null) {
             repository.save(auditVersion);
+            CatalogVersion.auditedAfterCompletion(auditVersion.getTime(), auditVersion.getId());
+        } else {
+            CatalogVersion.bump();
         }
     }
 
@@ -2,7 +2,9 @@ package no.nav.data.common.auditing.domain;
 
 import io.micrometer.core.annotation.Timed;
 import no.nav.data.common.auditing.dto.AuditMetadata;
+import no.nav.data.common.auditing.dto.PreviousAudit;
 import no.nav.data.common.storage.domain.GenericStorage;
+import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.notify.domain.TeamAuditMetadata;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,8 +13,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static no.nav.data.common.utils.MetricUtils.DB_QUERY_TIMED;
 import static no.nav.data.common.utils.MetricUtils.QUERY;
@@ -20,12 +25,31 @@ import static no.nav.data.common.utils.MetricUtils.QUERY;
 @Repository
 public interface AuditVersionRepository extends JpaRepository<AuditVersion, UUID> {
 
+    int BATCH_SIZE = 500;
+
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTable"}, percentiles = {.99, .75, .50})
     Page<AuditVersion> findByTable(String table, Pageable pageable);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTableIdOrderByTimeDesc"}, percentiles = {.99, .75, .50})
     List<AuditVersion> findByTableIdOrderByTimeDesc(String tableId);
 
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTableId"}, percentiles = {.99, .75, .50})
+    @Query(value = "select * from audit_version where table_id = ?1 order by time desc, audit_id desc limit ?2", nativeQuery = true)
+    List<AuditVersion> findByTableId(String tableId, int limit);
+
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTableIdBefore"}, percentiles = {.99, .75, .50})
+    @Query(value = "select * from audit_version where table_id = ?1 and (time, audit_id) < (?2, ?3) order by time desc, audit_id desc limit ?4", nativeQuery = true)
+    List<AuditVersion> findByTableIdBefore(String tableId, LocalDateTime time, UUID id, int limit);
+
+    /**
+     * Audits of an object, newest first, read in batches of {@value #BATCH_SIZE} without holding a connection between batches
+     */
+    default Stream<AuditVersion> streamByTableIdOrderByTimeDesc(String tableId) {
+        return StreamUtils.batched(BATCH_SIZE, last -> last == null
+                ? findByTableId(tableId, BATCH_SIZE)
+                : findByTableIdBefore(tableId, last.getTime(), last.getId(), BATCH_SIZE));
+    }
+
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTableIdOrderByTimeDescLimitOne"}, percentiles = {.99, .75, .50})
     @Query(value = "select * from audit_version where table_id = ?1 order by time desc limit 1", nativeQuery = true)
     AuditVersion findByTableIdOrderByTimeDescLimitOne(String tableId);
@@ -38,6 +62,19 @@ public interface AuditVersionRepository extends JpaRepository<AuditVersion, UUID
             + "order by time", nativeQuery = true)
     List<AuditMetadata> getAllMetadataAfter(UUID id);
 
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.getAllMetadataSince"}, percentiles = {.99, .75, .50})
+    @Query(value = "select cast(audit_id as text) as id, time, action, table_name as tableName, table_id as tableId "
+            + "from audit_version "
+            + "where time > ?1 "
+            + "order by time", nativeQuery = true)
+    List<AuditMetadata> getAllMetadataSince(LocalDateTime time);
+
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.getLatestMetadata"}, percentiles = {.99, .75, .50})
+    @Query(value = "select cast(audit_id as text) as id, time, action, table_name as tableName, table_id as tableId "
+            + "from audit_version "
+            + "order by time desc, audit_id desc limit 1", nativeQuery = true)
+    Optional<AuditMetadata> getLatestMetadata();
+
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.getTeamMetadataBefore"}, percentiles = {.99, .75, .50})
     @Query(value = """
             select distinct on (table_id)
@@ -72,18 +109,27 @@ public interface AuditVersionRepository extends JpaRepository<AuditVersion, UUID
             + "from audit_version where audit_id in ?1", nativeQuery = true)
     List<AuditMetadata> getMetadataByIds(List<UUID> uuids);
 
-    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.getPreviousAuditIdFor"}, percentiles = {.99, .75, .50})
-    @Query(value = "select cast(audit_id as text) from audit_version "
-            + "where table_id = (select table_id from audit_version where audit_id = ?1) "
-            + "and time < (select time from audit_version where audit_id = ?1) "
-            + "order by time desc limit 1", nativeQuery = true)
-    String getPreviousAuditIdFor(UUID id);
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.getPreviousAuditIdsFor"}, percentiles = {.99, .75, .50})
+    @Query(value = """
+            select cast(audit_id as text) as id, cast(previous_id as text) as previousId
+             from (
+                select audit_id, lag(audit_id) over (partition by table_id order by time) as previous_id
+                 from audit_version
+                 where table_id in (select table_id from audit_version where audit_id in ?1)
+             ) versions
+             where audit_id in ?1
+            """, nativeQuery = true)
+    List<PreviousAudit> getPreviousAuditIdsFor(Collection<UUID> ids);
 
-    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.lastAuditForObject"}, percentiles = {.99, .75, .50})
-    @Query(value = "select cast(audit_id as text) as id, time, action, table_name as tableName, table_id as tableId "
-            + "from audit_version "
-            + "where table_id = cast(?1 as text) order by time desc limit 1", nativeQuery = true)
-    AuditMetadata lastAuditForObject(UUID uuid);
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.lastAuditForObjects"}, percentiles = {.99, .75, .50})
+    @Query(value = """
+            select distinct on (table_id)
+             cast(audit_id as text) as id, time, action, table_name as tableName, table_id as tableId
+             from audit_version
+             where table_id in ?1
+             order by table_id, time desc
+            """, nativeQuery = true)
+    List<AuditMetadata> lastAuditForObjects(Collection<String> tableIds);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuditVersionRepository.findByTimeBetween"}, percentiles = {.99, .75, .50})
     @Query(value = "select cast(audit_id as text) as id, time, action, table_name as tableName, table_id as tableId"
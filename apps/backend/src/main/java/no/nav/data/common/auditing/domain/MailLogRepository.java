@@ -2,19 +2,24 @@ package no.nav.data.common.auditing.domain;
 
 import io.micrometer.core.annotation.Timed;
 import no.nav.data.common.storage.domain.GenericStorage;
+import no.nav.data.common.utils.StreamUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static no.nav.data.common.utils.MetricUtils.DB_QUERY_TIMED;
 import static no.nav.data.common.utils.MetricUtils.QUERY;
 
 public interface MailLogRepository extends JpaRepository<GenericStorage, UUID> {
 
+    int BATCH_SIZE = 500;
+
     @Override
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "MailLogRepository.findAll"}, percentiles = {.99, .75, .50})
     @Query(value = "select * from generic_storage where type = 'MailLog' order by created_date desc",
@@ -29,6 +34,20 @@ public interface MailLogRepository extends JpaRepository<GenericStorage, UUID> {
     Page<GenericStorage> findAllNonUpdates(Pageable pageable);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "MailLogRepository.findByTo"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where type = 'MailLog' and data ->> 'to' = ?1 order by created_date desc", nativeQuery = true)
-    List<GenericStorage> findByTo(String to);
+    @Query(value = "select * from generic_storage where type = 'MailLog' and data ->> 'to' = ?1 order by created_date desc, id desc limit ?2", nativeQuery = true)
+    List<GenericStorage> findByTo(String to, int limit);
+
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "MailLogRepository.findByToBefore"}, percentiles = {.99, .75, .50})
+    @Query(value = "select * from generic_storage where type = 'MailLog' and data ->> 'to' = ?1 and (created_date, id) < (?2, ?3) "
+            + "order by created_date desc, id desc limit ?4", nativeQuery = true)
+    List<GenericStorage> findByToBefore(String to, LocalDateTime createdDate, UUID id, int limit);
+
+    /**
+     * Mail log for a recipient, newest first, read in batches of {@value #BATCH_SIZE} without holding a connection between batches
+     */
+    default Stream<GenericStorage> streamByTo(String to) {
+        return StreamUtils.batched(BATCH_SIZE, last -> last == null
+                ? findByTo(to, BATCH_SIZE)
+                : findByToBefore(to, last.getCreatedDate(), last.getId(), BATCH_SIZE));
+    }
 }
@@ -0,0 +1,14 @@
+package no.nav.data.common.auditing.dto;
+
+import java.util.UUID;
+
+public interface PreviousAudit {
+
+    UUID getId();
+
+    /**
+     * null if there is no earlier version
+     */
+    UUID getPreviousId();
+
+}
@@ -1,32 +1,65 @@
 package no.nav.data.common.export;
 
 import no.nav.data.common.exceptions.TechnicalException;
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.PartName;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart;
-import org.xlsx4j.jaxb.Context;
-import org.xlsx4j.sml.CTRst;
-import org.xlsx4j.sml.CTXstringWhitespace;
-import org.xlsx4j.sml.ObjectFactory;
-import org.xlsx4j.sml.STCellType;
-
-import java.io.ByteArrayOutputStream;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single sheet xlsx document directly to an {@link OutputStream}, rows are written as they are added.
+ * Call {@link #finish()} once all rows are added, the underlying stream is not closed.
+ */
 public class ExcelBuilder {
 
     public static final String SPREADSHEETML_SHEET_MIME = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-    private static final ObjectFactory fac = Context.getsmlObjectFactory();
 
-    private final SpreadsheetMLPackage pack;
-    private final WorksheetPart sheet;
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String CONTENT_TYPES = XML_HEADER
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+            + "</Types>";
+    private static final String RELS = XML_HEADER
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>";
+    private static final String WORKBOOK = XML_HEADER
+            + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+            + "<sheets><sheet name=\"%s\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+            + "</workbook>";
+    private static final String WORKBOOK_RELS = XML_HEADER
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+            + "</Relationships>";
+    private static final String SHEET_START = XML_HEADER
+            + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>";
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
 
     long rowN = 0;
+    private boolean rowOpen;
 
-    public ExcelBuilder(String sheetName) {
+    public ExcelBuilder(String sheetName, OutputStream out) {
+        zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
         try {
-            pack = SpreadsheetMLPackage.createPackage();
-            sheet = pack.createWorksheetPart(new PartName("/xl/worksheets/sheet1.xml"), sheetName, 1);
-        } catch (Exception e) {
+            writeEntry("[Content_Types].xml", CONTENT_TYPES);
+            writeEntry("_rels/.rels", RELS);
+            writeEntry("xl/workbook.xml", WORKBOOK.formatted(escape(sheetName)));
+            writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writer.write(SHEET_START);
+        } catch (IOException e) {
             throw new TechnicalException("excel error", e);
         }
     }
@@ -37,48 +70,97 @@ public class ExcelBuilder {
 
     public class ExcelRow {
 
-        org.xlsx4j.sml.Row row = fac.createRow();
-        char col = 'A';
+        int col = 0;
 
         public ExcelRow() {
-            row.setR(++rowN);
-            sheet.getJaxbElement().getSheetData().getRow().add(row);
+            write((rowOpen ? "</row>" : "") + "<row r=\"" + ++rowN + "\">");
+            rowOpen = true;
         }
 
         public ExcelRow addCell(String content) {
-            var cell = fac.createCell();
-
-            CTXstringWhitespace t = fac.createCTXstringWhitespace();
-            t.setValue(content);
-            CTRst ctRst = fac.createCTRst();
-            ctRst.setT(t);
-
-            cell.setIs(ctRst);
-            cell.setR("%s%s".formatted(col++, rowN));
-            cell.setT(STCellType.INLINE_STR);
-            row.getC().add(cell);
+            write("<c r=\"" + ref() + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">" + escape(content) + "</t></is></c>");
             return this;
         }
 
         public ExcelRow addCell(Number number) {
-            var cell = fac.createCell();
-
-            cell.setV(number != null ? String.valueOf(number) : "");
-            cell.setR("%s%s".formatted(col++, rowN));
-            cell.setT(STCellType.N);
-            row.getC().add(cell);
+            var ref = ref();
+            write(number != null ? "<c r=\"" + ref + "\" t=\"n\"><v>" + number + "</v></c>" : "<c r=\"" + ref + "\"/>");
             return this;
         }
 
+        private String ref() {
+            return columnName(col++) + rowN;
+        }
+    }
+
+    /**
+     * Completes the document
+     */
+    public void finish() {
+        try {
+            writer.write((rowOpen ? "</row>" : "") + SHEET_END);
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+        } catch (IOException e) {
+            throw new TechnicalException("excel error", e);
+        }
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
     }
 
-    public byte[] build() {
+    private void write(String s) {
         try {
-            var outStream = new ByteArrayOutputStream();
-            pack.save(outStream);
-            return outStream.toByteArray();
-        } catch (Exception e) {
+            writer.write(s);
+        } catch (IOException e) {
             throw new TechnicalException("excel error", e);
         }
     }
+
+    static String columnName(int col) {
+        var name = new StringBuilder();
+        for (int n = col + 1; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+
+    static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        var sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                default -> {
+                    if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        sb.append(c).append(s.charAt(++i));
+                    } else if (isXmlChar(c)) {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Characters allowed in xml 1.0, apart from surrogate pairs. Control characters, unpaired surrogates and U+FFFE/U+FFFF are not.
+     */
+    private static boolean isXmlChar(char c) {
+        if (c < 0x20) {
+            return c == '\t' || c == '\n' || c == '\r';
+        }
+        return !Character.isSurrogate(c) && c != '\uFFFE' && c != '\uFFFF';
+    }
 }
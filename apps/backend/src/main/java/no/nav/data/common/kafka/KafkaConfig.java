@@ -2,6 +2,8 @@ package no.nav.data.common.kafka;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import no.nav.data.team.resource.NomClient;
+import no.nav.data.team.resource.NomIngestProperties;
+import no.nav.data.team.resource.NomIngestStatus;
 import no.nav.data.team.resource.NomListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
@@ -10,9 +12,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.ContainerProperties.AckMode;
-import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 
 import java.time.Duration;
 
@@ -31,14 +33,18 @@ public class KafkaConfig {
     }
 
     @Bean
-    public KafkaMessageListenerContainer<String, String> nomRessursContainer(
-            ConsumerFactory<String, String> consumerFactory, NomClient nomClient) {
+    public ConcurrentMessageListenerContainer<String, String> nomRessursContainer(
+            ConsumerFactory<String, String> consumerFactory, NomClient nomClient, NomIngestStatus ingestStatus, NomIngestProperties ingestProperties) {
         var containerProps = new ContainerProperties(topic);
-        containerProps.setMessageListener(new NomListener(nomClient));
+        containerProps.setMessageListener(new NomListener(nomClient, ingestStatus));
+        // idle events update consumer lag when there is nothing to read
+        containerProps.setIdleEventInterval(Duration.ofSeconds(10).toMillis());
         containerProps.setAckMode(AckMode.MANUAL);
         containerProps.setPollTimeout(500);
 
-        var container = new KafkaMessageListenerContainer<>(consumerFactory, containerProps);
+        var container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProps);
+        // partitions are divided between consumer threads, the listener is shared
+        container.setConcurrency(ingestProperties.getConcurrency());
         container.setCommonErrorHandler(new KafkaErrorHandler());
         container.getContainerProperties().setAuthExceptionRetryInterval(Duration.ofMinutes(5));
 
@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.security.domain.AuthRepository;
+import no.nav.data.team.resource.NomIngestStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,12 +19,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 @RequestMapping(("/internal/"))
 public class NaisEndpoints {
 
-    private static final AtomicInteger isReady = new AtomicInteger(1);
+    private static final AtomicInteger isReady = new AtomicInteger(0);
     private final AuthRepository authRepository;
+    private final NomIngestStatus nomIngestStatus;
 
     @Autowired
-    public NaisEndpoints(MeterRegistry meterRegistry, AuthRepository authRepository) {
+    public NaisEndpoints(MeterRegistry meterRegistry, AuthRepository authRepository, NomIngestStatus nomIngestStatus) {
         this.authRepository = authRepository;
+        this.nomIngestStatus = nomIngestStatus;
         Gauge.builder("dok_app_is_ready", isReady, AtomicInteger::get).register(meterRegistry);
     }
 
@@ -38,8 +41,13 @@ public class NaisEndpoints {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    /**
+     * Not ready until resources from nom have been loaded, see {@link NomIngestStatus}
+     */
     @GetMapping(value = "isReady")
     public ResponseEntity<String> isReady() {
-        return new ResponseEntity<>(HttpStatus.OK);
+        boolean ready = nomIngestStatus.isReady();
+        isReady.set(ready ? 1 : 0);
+        return new ResponseEntity<>(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
     }
 }
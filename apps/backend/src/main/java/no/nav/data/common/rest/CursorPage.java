@@ -0,0 +1,24 @@
+package no.nav.data.common.rest;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"limit", "numberOfElements", "nextCursor", "content"})
+public class CursorPage<T> {
+
+    private final long limit;
+    private final long numberOfElements;
+    @Parameter(description = "Cursor of the next page, null on the last page")
+    private final String nextCursor;
+    private final List<T> content;
+
+    public CursorPage(List<T> content, long limit, String nextCursor) {
+        this(limit, content.size(), nextCursor, content);
+    }
+}
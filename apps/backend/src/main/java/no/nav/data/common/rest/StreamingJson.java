@@ -0,0 +1,124 @@
+package no.nav.data.common.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.prometheus.client.Summary;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import no.nav.data.common.exceptions.TechnicalException;
+import no.nav.data.common.utils.JsonUtils;
+import no.nav.data.common.utils.MetricUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes list responses item by item from a lazily evaluated stream, so memory does not scale with the size of the response.
+ * <p>
+ * Clients accepting {@value #NDJSON} get one item per line without envelope, compression is negotiated by the server.
+ */
+public final class StreamingJson {
+
+    public static final String NDJSON = "application/x-ndjson";
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+
+    private static final Summary writeLatency = MetricUtils.summary()
+            .labels("json").labels("ndjson")
+            .labelNames("format")
+            .name("streaming_json_write_summary").help("Time taken to write a streamed list response")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+
+    private static final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+
+    private StreamingJson() {
+    }
+
+    /**
+     * @param head fields written before the list
+     * @param contentField name of the list field
+     * @param pageCounts append the {@link RestResponsePage} counts, these follow the list as they are only known once the stream is drained
+     */
+    public record Envelope(Map<String, ?> head, String contentField, boolean pageCounts) {
+
+        public static Envelope page() {
+            return new Envelope(Map.of(), "content", true);
+        }
+
+        public static Envelope field(String contentField, String headField, Object headValue) {
+            var head = new LinkedHashMap<String, Object>();
+            head.put(headField, headValue);
+            return new Envelope(head, contentField, false);
+        }
+    }
+
+    public static boolean acceptsNdjson(HttpServletRequest request) {
+        var accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(type -> !type.isWildcardType() && type.includes(NDJSON_TYPE));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static void writePage(Stream<?> items, HttpServletRequest request, HttpServletResponse response) {
+        write(items, Envelope.page(), request, response);
+    }
+
+    public static void write(Stream<?> items, Envelope envelope, HttpServletRequest request, HttpServletResponse response) {
+        boolean ndjson = acceptsNdjson(request);
+        try (items; var ignored = writeLatency.labels(ndjson ? "ndjson" : "json").startTimer()) {
+            response.setContentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON_VALUE);
+            try (var gen = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (ndjson) {
+                    writeLines(items, gen);
+                } else {
+                    writeEnvelope(items, envelope, gen);
+                }
+            }
+        } catch (IOException e) {
+            throw new TechnicalException("io error", e);
+        }
+    }
+
+    private static void writeLines(Stream<?> items, JsonGenerator gen) throws IOException {
+        gen.setRootValueSeparator(null);
+        var it = items.iterator();
+        while (it.hasNext()) {
+            gen.writeObject(it.next());
+            gen.writeRaw('\n');
+        }
+    }
+
+    private static void writeEnvelope(Stream<?> items, Envelope envelope, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        for (var field : envelope.head().entrySet()) {
+            gen.writeObjectField(field.getKey(), field.getValue());
+        }
+        gen.writeArrayFieldStart(envelope.contentField());
+        long count = 0;
+        var it = items.iterator();
+        while (it.hasNext()) {
+            gen.writeObject(it.next());
+            count++;
+        }
+        gen.writeEndArray();
+        if (envelope.pageCounts()) {
+            gen.writeNumberField("pageNumber", 0);
+            gen.writeNumberField("pageSize", count);
+            gen.writeNumberField("pages", 1);
+            gen.writeNumberField("numberOfElements", count);
+            gen.writeNumberField("totalElements", count);
+            gen.writeBooleanField("paged", false);
+        }
+        gen.writeEndObject();
+    }
+}
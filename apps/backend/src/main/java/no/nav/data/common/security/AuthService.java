@@ -1,5 +1,7 @@
 package no.nav.data.common.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.prometheus.client.Gauge;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.exceptions.NotFoundException;
@@ -9,16 +11,20 @@ import no.nav.data.common.security.domain.AuthRepository;
 import no.nav.data.common.utils.Constants;
 import no.nav.data.common.utils.MetricUtils;
 import no.nav.data.common.utils.StringUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -36,6 +42,30 @@ public class AuthService {
 
     private final AuthRepository authRepository;
     private final Encryptor encryptor;
+    private final Cache<String, Session> sessionCache = MetricUtils.register("sessionCache",
+            Caffeine.newBuilder().recordStats()
+                    .expireAfterWrite(Duration.ofMinutes(2))
+                    .maximumSize(10_000)
+                    .build());
+    // sessions with lastActive not yet written
+    private final Set<UUID> activeSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Decrypted session, the cached value. Each request gets an {@link Auth} of its own.
+     */
+    private record Session(UUID id, String userId, LocalDateTime initiated, String sessionKey, String refreshToken) {
+
+        Auth toAuth(Encryptor encryptor) {
+            return Auth.builder()
+                    .id(id)
+                    .userId(userId)
+                    .initiated(initiated)
+                    .encryptor(encryptor)
+                    .sessionKey(sessionKey)
+                    .refreshToken(refreshToken)
+                    .build();
+        }
+    }
 
     public AuthService(AuthRepository authRepository, Encryptor refreshTokenEncryptor) {
         this.authRepository = authRepository;
@@ -48,18 +78,39 @@ public class AuthService {
                 .getCodeVerifier();
     }
 
+    /**
+     * Sessions are cached with the refresh token decrypted, lastActive is written in batches by {@link #flushLastActive()}.
+     * A session ended on another instance stays valid here until it expires from the cache.
+     *
+     * @return a new Auth for each call, not attached to the persistence context
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Auth getAuth(String sessionId, String sessionKey) {
+        var session = sessionCache.get(DigestUtils.sha256Hex(sessionId + sessionKey), k -> loadSession(sessionId, sessionKey));
+        activeSessions.add(session.id());
+        return session.toAuth(encryptor);
+    }
+
+    private Session loadSession(String sessionId, String sessionKey) {
         var sessUuid = StringUtils.toUUID(sessionId);
         Auth auth = authRepository.findById(sessUuid)
-                .orElseThrow(() -> new NotFoundException("couldn't find session"))
-                .addSecret(encryptor, sessionKey);
+                .orElseThrow(() -> new NotFoundException("couldn't find session"));
         if (isBlank(auth.getEncryptedRefreshToken())) {
             throw new UnauthorizedException("session is terminated");
         }
-        if (auth.getLastActive().isBefore(LocalDateTime.now().minusMinutes(1))) {
-            auth.setLastActive(LocalDateTime.now());
+        // fails for an invalid session key, before anything is cached
+        var refreshToken = encryptor.decrypt(sessionKey + auth.getEncryptedRefreshToken());
+        return new Session(auth.getId(), auth.getUserId(), auth.getInitiated(), sessionKey, refreshToken);
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedRateString = "PT1M")
+    public void flushLastActive() {
+        if (activeSessions.isEmpty()) {
+            return;
         }
-        return auth;
+        var ids = List.copyOf(activeSessions);
+        ids.forEach(activeSessions::remove);
+        authRepository.updateLastActive(ids, LocalDateTime.now());
     }
 
     public Auth createAuth() {
@@ -86,15 +137,13 @@ public class AuthService {
     public void endSession(UUID id) {
         Auth auth = authRepository.findById(id).orElseThrow();
         auth.setEncryptedRefreshToken("");
+        sessionCache.asMap().values().removeIf(cached -> cached.id().equals(id));
     }
 
     @Scheduled(initialDelayString = "PT1M", fixedRateString = "PT10M")
     public void cleanOldAuth() {
-        List<Auth> auths = authRepository.findByLastActiveBefore(LocalDateTime.now().minus(Constants.SESSION_LENGTH.plusHours(1)));
-        for (Auth auth : auths) {
-            authRepository.delete(auth);
-            log.debug("Deleting old auth for user {}", auth.getUserId());
-        }
+        int deleted = authRepository.deleteByLastActiveBefore(LocalDateTime.now().minus(Constants.SESSION_LENGTH.plusHours(1)));
+        log.debug("Deleted {} old auths", deleted);
     }
 
     @Scheduled(initialDelayString = "PT1M", fixedRateString = "PT1M")
@@ -1,8 +1,13 @@
 package no.nav.data.common.security.azure;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.DefaultJWKSetCache;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.BadJOSEException;
@@ -15,9 +20,9 @@ import com.nimbusds.jwt.proc.BadJWTException;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
-import com.nimbusds.jwt.proc.JWTClaimsSetVerifier;
 import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
 import io.prometheus.client.Counter;
+import io.prometheus.client.Summary;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -27,11 +32,14 @@ import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.security.AppIdMapping;
 import no.nav.data.common.security.AuthController;
 import no.nav.data.common.security.RoleSupport;
+import no.nav.data.common.security.azure.support.ClaimsExpiry;
 import no.nav.data.common.security.domain.Auth;
 import no.nav.data.common.security.dto.Credential;
 import no.nav.data.common.utils.MetricUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -39,10 +47,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static no.nav.data.common.security.SecurityConstants.COOKIE_NAME;
@@ -53,12 +64,25 @@ import static org.springframework.util.StringUtils.hasText;
 public class AADStatelessAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Counter counter = initCounter();
+    private static final Summary verifyLatency = MetricUtils.summary()
+            .name("team_jwt_verify_summary").help("Time taken to verify bearer tokens, cached tokens excluded")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+    private static final Duration KEYS_LIFESPAN = Duration.ofHours(1);
+    private static final Duration KEYS_REFRESH = Duration.ofMinutes(10);
 
     private final AzureTokenProvider azureTokenProvider;
     private final RoleSupport roleSupport;
     private final List<String> allowedAppIds;
     private final OIDCProviderMetadata oidcProviderMetadata;
     private final JWKSource<SecurityContext> keySource;
+    // AAD signs tokens with RS256, built up front so token headers cannot add entries
+    private final Map<JWSAlgorithm, ConfigurableJWTProcessor<SecurityContext>> jwtProcessors;
+    private final Cache<String, JWTClaimsSet> verifiedClaims = MetricUtils.register("verifiedTokenCache",
+            Caffeine.newBuilder().recordStats()
+                    .expireAfter(new ClaimsExpiry())
+                    .maximumSize(1000)
+                    .build());
 
     public AADStatelessAuthenticationFilter(AzureTokenProvider azureTokenProvider, RoleSupport roleSupport, AppIdMapping appIdMapping,
             AADAuthenticationProperties aadAuthProps, ResourceRetriever resourceRetriever, OIDCProviderMetadata oidcProviderMetadata) {
@@ -70,11 +94,13 @@ public class AADStatelessAuthenticationFilter extends OncePerRequestFilter {
         // azure spring
         this.validAudiences.add(aadAuthProps.getClientId());
         try {
-            keySource = new RemoteJWKSet<>(oidcProviderMetadata.getJWKSetURI().toURL(), resourceRetriever);
+            keySource = new RemoteJWKSet<>(oidcProviderMetadata.getJWKSetURI().toURL(), resourceRetriever,
+                    new DefaultJWKSetCache(KEYS_LIFESPAN.toMinutes(), KEYS_REFRESH.toMinutes(), TimeUnit.MINUTES));
         } catch (MalformedURLException e) {
             log.error("Failed to parse active directory key discovery uri.", e);
             throw new IllegalStateException("Failed to parse active directory key discovery uri.", e);
         }
+        jwtProcessors = Map.of(JWSAlgorithm.RS256, getAadJwtTokenValidator(JWSAlgorithm.RS256));
     }
 
     @Override
@@ -173,17 +199,42 @@ public class AADStatelessAuthenticationFilter extends OncePerRequestFilter {
     // From spring azure start
     private final Set<String> validAudiences = new HashSet<>();
 
+    /**
+     * Verified claims are cached per token until the token expires
+     */
     public JWTClaimsSet buildAndValidateClaims(String idToken) throws ParseException, BadJOSEException, JOSEException {
-        final JWSObject jwsObject = JWSObject.parse(idToken);
-        final ConfigurableJWTProcessor<SecurityContext> validator =
-                getAadJwtTokenValidator(jwsObject.getHeader().getAlgorithm());
-        final JWTClaimsSet jwtClaimsSet = validator.process(idToken, null);
-        final JWTClaimsSetVerifier<SecurityContext> verifier = validator.getJWTClaimsSetVerifier();
-        verifier.verify(jwtClaimsSet, null);
-
+        var key = DigestUtils.sha256Hex(idToken);
+        var cached = verifiedClaims.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final JWTClaimsSet jwtClaimsSet;
+        try (var ignored = verifyLatency.startTimer()) {
+            final JWSObject jwsObject = JWSObject.parse(idToken);
+            final ConfigurableJWTProcessor<SecurityContext> validator = jwtProcessors.get(jwsObject.getHeader().getAlgorithm());
+            if (validator == null) {
+                throw new BadJWTException("Unsupported token algorithm " + jwsObject.getHeader().getAlgorithm());
+            }
+            // the processor runs the claims verifier
+            jwtClaimsSet = validator.process(idToken, null);
+        }
+        verifiedClaims.put(key, jwtClaimsSet);
         return jwtClaimsSet;
     }
 
+    /**
+     * Refreshes signing keys ahead of expiry, so requests rarely wait for the key set.
+     * Tokens signed with an unknown key id make the key set reload immediately.
+     */
+    @Scheduled(initialDelayString = "PT1M", fixedRateString = "PT5M")
+    public void refreshKeys() {
+        try {
+            keySource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+        } catch (Exception e) {
+            log.warn("Failed to refresh signing keys", e);
+        }
+    }
+
     private ConfigurableJWTProcessor<SecurityContext> getAadJwtTokenValidator(JWSAlgorithm jwsAlgorithm) {
         final ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
 
@@ -0,0 +1,38 @@
+package no.nav.data.common.security.azure.support;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Verified claims are cached no longer than the token is valid
+ */
+public class ClaimsExpiry implements Expiry<String, JWTClaimsSet> {
+
+    private static final Duration DEFAULT_EXPIRE = Duration.ofMinutes(1);
+    private static final Duration MAX_EXPIRE = Duration.ofHours(1);
+
+    @Override
+    public long expireAfterCreate(String key, JWTClaimsSet value, long currentTime) {
+        if (value.getExpirationTime() == null) {
+            return DEFAULT_EXPIRE.toNanos();
+        }
+        var duration = Duration.between(Instant.now(), value.getExpirationTime().toInstant());
+        if (duration.isNegative()) {
+            return 0;
+        }
+        return (duration.compareTo(MAX_EXPIRE) > 0 ? MAX_EXPIRE : duration).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, JWTClaimsSet value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, JWTClaimsSet value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
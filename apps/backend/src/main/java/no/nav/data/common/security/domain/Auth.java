@@ -39,6 +39,8 @@ public class Auth {
     private transient String sessionKey;
     @Transient
     private transient String accessToken;
+    @Transient
+    private transient String refreshToken;
 
     public Auth addSecret(Encryptor encryptor, String sessionKey) {
         this.encryptor = encryptor;
@@ -50,10 +52,16 @@ public class Auth {
         this.accessToken = accessToken;
     }
 
+    /**
+     * Decrypted once per instance, the key derivation is expensive
+     */
     public String decryptRefreshToken() {
         Assert.notNull(encryptor, "not initialized");
         Assert.notNull(sessionKey, "not initialized");
-        return encryptor.decrypt(sessionKey + encryptedRefreshToken);
+        if (refreshToken == null) {
+            refreshToken = encryptor.decrypt(sessionKey + encryptedRefreshToken);
+        }
+        return refreshToken;
     }
 
     public String session() {
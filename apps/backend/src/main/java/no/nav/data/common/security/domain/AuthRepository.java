@@ -2,10 +2,11 @@ package no.nav.data.common.security.domain;
 
 import io.micrometer.core.annotation.Timed;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
 
 import static no.nav.data.common.utils.MetricUtils.DB_QUERY_TIMED;
@@ -14,8 +15,15 @@ import static no.nav.data.common.utils.MetricUtils.QUERY;
 
 public interface AuthRepository extends JpaRepository<Auth, UUID> {
 
-    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuthRepository.findByLastActiveBefore"}, percentiles = {.99, .75, .50})
-    List<Auth> findByLastActiveBefore(LocalDateTime time);
+    @Modifying
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuthRepository.deleteByLastActiveBefore"}, percentiles = {.99, .75, .50})
+    @Query("delete from Auth a where a.lastActive < ?1")
+    int deleteByLastActiveBefore(LocalDateTime time);
+
+    @Modifying
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuthRepository.updateLastActive"}, percentiles = {.99, .75, .50})
+    @Query("update Auth a set a.lastActive = ?2 where a.id in ?1 and a.lastActive < ?2")
+    int updateLastActive(Collection<UUID> ids, LocalDateTime time);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "AuthRepository.countDistinctUserIdByLastActiveAfter"}, percentiles = {.99, .75, .50})
     @Query(value = "select count(distinct user_id) "
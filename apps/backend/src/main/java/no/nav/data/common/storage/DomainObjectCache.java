@@ -0,0 +1,81 @@
+package no.nav.data.common.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import no.nav.data.common.storage.domain.GenericStorage;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.common.utils.MetricUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Stored rows of the read-mostly types, per type, see {@link TypeRegistration#isCached(String)}.
+ * <p>
+ * Invalidated by {@link StorageChangedEvent}s after commit, changes from other instances arrive through the audit poller.
+ * A transaction that has written a type reads it from the database until it completes.
+ * Rows are cached rather than domain objects, so each read decodes objects of its own that the caller is free to modify.
+ * The cached rows themselves are only read by {@link StorageService}.
+ */
+@Component
+public class DomainObjectCache {
+
+    private final Cache<String, List<GenericStorage>> cache = MetricUtils.register("domainObjectCache",
+            Caffeine.newBuilder().recordStats()
+                    .expireAfterWrite(Duration.ofMinutes(10))
+                    .maximumSize(TypeRegistration.cachedTypeCount())
+                    .build());
+
+    List<GenericStorage> getAll(String type, Supplier<List<GenericStorage>> loader) {
+        if (!TypeRegistration.isCached(type) || writtenInTransaction().contains(type)) {
+            return loader.get();
+        }
+        return cache.get(type, k -> List.copyOf(loader.get()));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Called on write, makes the current transaction bypass the cache for the type
+     */
+    void written(String type) {
+        if (!TypeRegistration.isCached(type) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        var types = writtenInTransaction();
+        if (types.isEmpty()) {
+            var newTypes = new HashSet<String>();
+            TransactionSynchronizationManager.bindResource(this, newTypes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DomainObjectCache.this);
+                }
+            });
+            types = newTypes;
+        }
+        types.add(type);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorageChanged(StorageChangedEvent event) {
+        if (TypeRegistration.isCached(event.type())) {
+            cache.invalidate(event.type());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenInTransaction() {
+        var types = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        return types == null ? Set.of() : types;
+    }
+}
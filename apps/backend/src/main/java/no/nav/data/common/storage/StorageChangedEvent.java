@@ -0,0 +1,19 @@
+package no.nav.data.common.storage;
+
+import no.nav.data.common.storage.domain.DomainObject;
+import no.nav.data.common.storage.domain.TypeRegistration;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link StorageService} after domain objects are created, updated or deleted,
+ * and by {@link no.nav.data.common.auditing.AuditChangePoller} for audited changes made by other instances.
+ * Ids are empty if the affected objects are not known, ie. bulk deletes.
+ */
+public record StorageChangedEvent(String type, List<UUID> ids) {
+
+    public boolean isType(Class<? extends DomainObject> clazz) {
+        return type.equals(TypeRegistration.typeOf(clazz));
+    }
+}
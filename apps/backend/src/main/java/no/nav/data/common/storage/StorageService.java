@@ -6,6 +6,7 @@ import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.common.storage.domain.GenericStorageRepository;
 import no.nav.data.common.storage.domain.TypeRegistration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -24,9 +25,13 @@ import static no.nav.data.common.utils.StreamUtils.convert;
 public class StorageService {
 
     private final GenericStorageRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainObjectCache cache;
 
-    public StorageService(GenericStorageRepository repository) {
+    public StorageService(GenericStorageRepository repository, ApplicationEventPublisher eventPublisher, DomainObjectCache cache) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.cache = cache;
     }
 
 
@@ -45,19 +50,27 @@ public class StorageService {
     public <T extends DomainObject> List<GenericStorage> saveAll(Collection<T> objects) {
         Assert.isTrue(objects.stream().noneMatch(o -> o.getId() != null), "Cannot use saveAll on existing object");
         var storages = convert(objects, o -> new GenericStorage().generateId().setDomainObjectData(o));
-        return repository.saveAll(storages);
+        var saved = repository.saveAll(storages);
+        if (!saved.isEmpty()) {
+            changed(saved.get(0).getType(), convert(saved, GenericStorage::getId));
+        }
+        return saved;
     }
 
     public <T extends DomainObject> T save(T object) {
         var storage = object.getId() != null ? getStorage(object.getId(), object.getClass()) : new GenericStorage().generateId();
         storage.setDomainObjectData(object);
         var saved = repository.save(storage);
+        changed(saved.getType(), List.of(saved.getId()));
         //noinspection unchecked
         return (T) saved.getDomainObjectData(object.getClass());
     }
 
     public <T extends DomainObject> void deleteAll(List<T> objects) {
         repository.deleteAll(convert(objects, DomainObject::getId));
+        if (!objects.isEmpty()) {
+            changed(objects.get(0).type(), convert(objects, DomainObject::getId));
+        }
     }
 
     private GenericStorage getStorage(UUID uuid, Class<? extends DomainObject> type) {
@@ -79,20 +92,31 @@ public class StorageService {
      */
     public <T extends DomainObject> void softDelete(UUID id, Class<T> type) {
         repository.deleteByIdAndType(id, TypeRegistration.typeOf(type));
+        changed(TypeRegistration.typeOf(type), List.of(id));
     }
 
     public <T extends DomainObject> void delete(T item) {
         repository.deleteById(item.getId());
+        changed(item.type(), List.of(item.getId()));
     }
 
     public <T extends DomainObject> T delete(UUID id, Class<T> type) {
         var storage = getStorage(id, type);
         repository.delete(storage);
+        changed(storage.getType(), List.of(id));
         return storage.getDomainObjectData(type);
     }
 
+    /**
+     * Cached types are read from {@link DomainObjectCache}, and decoded per call
+     */
     public <T extends DomainObject> List<T> getAll(Class<T> type) {
-        return convert(repository.findAllByType(TypeRegistration.typeOf(type)), gs -> gs.getDomainObjectData(type));
+        var typeName = TypeRegistration.typeOf(type);
+        return convert(cache.getAll(typeName, () -> repository.findAllByType(typeName)), gs -> gs.getDomainObjectData(type));
+    }
+
+    public <T extends DomainObject> List<T> getAll(Collection<UUID> ids, Class<T> type) {
+        return GenericStorage.getOfType(repository.findAllById(ids), type);
     }
 
     public <T extends DomainObject> Optional<GenericStorage> getSingleton(Class<T> type) {
@@ -104,6 +128,15 @@ public class StorageService {
     }
 
     public long deleteCreatedOlderThan(Class<? extends DomainObject> aClass, LocalDateTime time) {
-        return repository.deleteByTypeAndCreatedDateBefore(TypeRegistration.typeOf(aClass), time);
+        var deleted = repository.deleteByTypeAndCreatedDateBefore(TypeRegistration.typeOf(aClass), time);
+        if (deleted > 0) {
+            changed(TypeRegistration.typeOf(aClass), List.of());
+        }
+        return deleted;
+    }
+
+    private void changed(String type, List<UUID> ids) {
+        cache.written(type);
+        eventPublisher.publishEvent(new StorageChangedEvent(type, ids));
     }
 }
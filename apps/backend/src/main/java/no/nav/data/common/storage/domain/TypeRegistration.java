@@ -25,11 +25,12 @@ public final class TypeRegistration {
     private static final Map<Class<?>, String> classToType = new HashMap<>();
     private static final Map<String, Class<?>> typeToClass = new HashMap<>();
     private static final Set<String> auditedTypes = new HashSet<>();
+    private static final Set<String> cachedTypes = new HashSet<>();
 
     static {
-        addDomainClass(Team.class, true);
-        addDomainClass(ProductArea.class, true);
-        addDomainClass(Cluster.class, true);
+        addDomainClass(Team.class, true, true);
+        addDomainClass(ProductArea.class, true, true);
+        addDomainClass(Cluster.class, true, true);
         addDomainClass(Settings.class, true);
 
         addDomainClass(ResourcePhoto.class, false);
@@ -48,18 +49,36 @@ public final class TypeRegistration {
     }
 
     private static void addDomainClass(Class<? extends DomainObject> aClass, boolean audited) {
+        addDomainClass(aClass, audited, false);
+    }
+
+    /**
+     * @param cached read-mostly type, served from {@link no.nav.data.common.storage.DomainObjectCache}
+     */
+    private static void addDomainClass(Class<? extends DomainObject> aClass, boolean audited, boolean cached) {
         String typeName = aClass.getSimpleName();
         classToType.put(aClass, typeName);
         typeToClass.put(typeName, aClass);
         if (audited) {
             auditedTypes.add(typeName);
         }
+        if (cached) {
+            cachedTypes.add(typeName);
+        }
     }
 
     public static boolean isAudited(String type) {
         return auditedTypes.contains(type);
     }
 
+    public static boolean isCached(String type) {
+        return cachedTypes.contains(type);
+    }
+
+    public static int cachedTypeCount() {
+        return cachedTypes.size();
+    }
+
     public static String typeOf(Class<?> clazz) {
         return classToType.get(clazz);
     }
@@ -63,6 +63,14 @@ public final class StreamUtils {
         return iterable == null ? Stream.empty() : StreamSupport.stream(iterable.spliterator(), false);
     }
 
+    /**
+     * Lazily concatenated batches, next is given the last element of the previous batch, or null for the first, until a batch is smaller than batchSize
+     */
+    public static <T> Stream<T> batched(int batchSize, Function<T, List<T>> next) {
+        return Stream.iterate(next.apply(null), batch -> !batch.isEmpty(), batch -> batch.size() < batchSize ? List.of() : next.apply(batch.get(batch.size() - 1)))
+                .flatMap(List::stream);
+    }
+
     public static <T> List<T> nullToEmptyList(Collection<T> list) {
         return list == null ? Collections.emptyList() : new ArrayList<>(list);
     }
@@ -0,0 +1,75 @@
+package no.nav.data.common.web;
+
+import io.prometheus.client.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import no.nav.data.common.rest.StreamingJson;
+import no.nav.data.common.utils.MetricUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ETags for catalog read endpoints, derived from {@link CatalogVersion}.
+ * A matching If-None-Match is answered with 304 before the request reaches any controller.
+ * Tags are weak, as the server does not compress responses with a strong tag, and include the format as lists can be requested as {@value StreamingJson#NDJSON}.
+ */
+@Component
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    private static final List<String> paths = List.of("/team", "/productarea", "/cluster", "/dash", "/location", "/tag", "/naisteam");
+
+    private static final Counter counter = MetricUtils.counter()
+            .labels("hit").labels("miss")
+            .labelNames("result")
+            .name("catalog_etag_counter").help("Catalog reads answered with 304 (hit) or a full response (miss)").register();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(p -> path.equals(p) || path.startsWith(p + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // read before the request is handled, a change while handling gives the next request a new tag
+        var etag = "W/\"" + CatalogVersion.current() + (StreamingJson.acceptsNdjson(request) ? "-nd" : "") + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // clients must revalidate, also keeps the default no-store from being added
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            counter.labels("hit").inc();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        counter.labels("miss").inc();
+        filterChain.doFilter(request, response);
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var opaqueTag = opaque(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(CatalogETagFilter::opaque)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(opaqueTag));
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,109 @@
+package no.nav.data.common.web;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version of the catalog served by this instance, derived from state shared by all instances so they agree on the version of the same data:
+ * <ul>
+ *     <li>the latest audited write, from writes made here and from changes polled from other instances</li>
+ *     <li>the ingest position of the latest changed resource</li>
+ *     <li>the time of the latest change to state only held by this instance, 0 until there is one</li>
+ * </ul>
+ */
+public final class CatalogVersion {
+
+    private static final Comparator<AuditMark> auditOrder = Comparator.comparing(AuditMark::time).thenComparing(AuditMark::id);
+    private static final AtomicReference<AuditMark> audit = new AtomicReference<>();
+    private static final AtomicLong resources = new AtomicLong();
+    private static final AtomicLong local = new AtomicLong();
+    private static final Object transactionKey = new Object();
+
+    private CatalogVersion() {
+    }
+
+    private record AuditMark(LocalDateTime time, UUID id) {
+
+        // as stored in the database, so marks from writes made here match those polled later
+        AuditMark {
+            time = time.truncatedTo(ChronoUnit.MICROS);
+        }
+
+        String encode() {
+            return Long.toString(time.toInstant(ZoneOffset.UTC).toEpochMilli(), 36) + "." + id.toString().substring(0, 8);
+        }
+    }
+
+    public static String current() {
+        var mark = audit.get();
+        return (mark == null ? "0" : mark.encode()) + "-" + Long.toString(resources.get(), 36) + "-" + Long.toString(local.get(), 36);
+    }
+
+    /**
+     * Change to state only held by this instance. Versions are the time of the change, so they are not repeated after a restart.
+     */
+    public static void bump() {
+        local.accumulateAndGet(System.currentTimeMillis(), (previous, now) -> Math.max(previous + 1, now));
+    }
+
+    /**
+     * @param position ingest position of the latest changed resource, 0 when no resources are held
+     */
+    public static void resourcesChanged(long position) {
+        resources.set(position);
+    }
+
+    /**
+     * Audited write, the version follows the latest one seen
+     */
+    public static void audited(LocalDateTime time, UUID id) {
+        var mark = new AuditMark(time, id);
+        audit.accumulateAndGet(mark, (current, next) -> current == null || auditOrder.compare(next, current) > 0 ? next : current);
+    }
+
+    /**
+     * Registers the audit once the current transaction commits, or immediately if there is none.
+     * Changing the version later than in-memory state is updated is safe, a request started in between gets the old version and is refreshed on the next poll.
+     */
+    public static void auditedAfterCompletion(LocalDateTime time, UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            audited(time, id);
+            return;
+        }
+        var pending = (AuditMark[]) TransactionSynchronizationManager.getResource(transactionKey);
+        if (pending != null) {
+            var mark = new AuditMark(time, id);
+            if (auditOrder.compare(mark, pending[0]) > 0) {
+                pending[0] = mark;
+            }
+            return;
+        }
+        var latest = new AuditMark[]{new AuditMark(time, id)};
+        TransactionSynchronizationManager.bindResource(transactionKey, latest);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            // after transactional event listeners, so caches are invalidated before the version changes
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status == STATUS_COMMITTED) {
+                    audited(latest[0].time(), latest[0].id());
+                }
+            }
+        });
+    }
+}
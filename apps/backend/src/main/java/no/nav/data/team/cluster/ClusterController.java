@@ -1,16 +1,22 @@
 package no.nav.data.team.cluster;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.exceptions.ValidationException;
 import no.nav.data.common.rest.RestResponsePage;
-import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.cluster.domain.Cluster;
 import no.nav.data.team.cluster.dto.ClusterRequest;
 import no.nav.data.team.cluster.dto.ClusterResponse;
+import no.nav.data.team.shared.CatalogFilter;
+import no.nav.data.team.shared.CatalogListing;
+import no.nav.data.team.shared.CatalogListing.ListParams;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,8 +33,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.Objects;
 import java.util.UUID;
 
-import static no.nav.data.common.utils.StreamUtils.convert;
-
 @Slf4j
 @RestController
 @RequestMapping("/cluster")
@@ -36,28 +40,29 @@ import static no.nav.data.common.utils.StreamUtils.convert;
 public class ClusterController {
 
     private final ClusterService service;
+    private final CatalogListing catalogListing;
 
-    public ClusterController(ClusterService service) {
+    public ClusterController(ClusterService service, CatalogListing catalogListing) {
         this.service = service;
+        this.catalogListing = catalogListing;
     }
 
-    @Operation(summary = "Get All Clusters")
-    @ApiResponse(description = "ok")
+    @Operation(summary = "Get All Clusters", description = "Paged in name order if cursor or limit is given, fields limits the properties of each cluster")
+    @ApiResponse(description = "ok", content = @Content(schema = @Schema(implementation = ClusterPageResponse.class)))
     @GetMapping
-    public ResponseEntity<RestResponsePage<ClusterResponse>> getAll(
-            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus
-
+    public void getAll(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(name = "productAreaId", required = false) UUID productAreaId,
+            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) String fields
     ) {
         log.info("Get all Clusters");
 
-        var cluster = service.getAll();
-
-        var queryStatusList = DomainObjectStatus.fromQueryParameter(stringStatus);
-
-        cluster = cluster.stream().filter(t -> queryStatusList.contains(t.getStatus())).toList();
-
-
-        return ResponseEntity.ok(new RestResponsePage<>(StreamUtils.convert(cluster, Cluster::convertToResponse)));
+        var filter = CatalogFilter.of(Cluster.class).status(DomainObjectStatus.fromQueryParameter(stringStatus)).productAreaId(productAreaId).build();
+        catalogListing.write(Cluster.class, filter, new ListParams(cursor, limit, fields), Cluster::convertToResponse, request, response);
     }
 
     @Operation(summary = "Get Cluster")
@@ -78,7 +83,7 @@ public class ClusterController {
         }
         var cluster= service.search(name);
         log.info("Returned {} clusters", cluster.size());
-        return new ResponseEntity<>(new RestResponsePage<>(convert(cluster, Cluster::convertToResponse)), HttpStatus.OK);
+        return new ResponseEntity<>(new RestResponsePage<>(Cluster.convertToResponse(cluster)), HttpStatus.OK);
     }
 
     @Operation(summary = "Create Cluster")
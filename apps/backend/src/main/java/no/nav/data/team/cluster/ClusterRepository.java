@@ -16,14 +16,14 @@ import static no.nav.data.common.utils.MetricUtils.QUERY;
 public interface ClusterRepository extends JpaRepository<GenericStorage, UUID> {
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ClusterRepository.findByNameLike"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike %?1% and type = 'Cluster'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Cluster' and cp.name ilike %?1%", nativeQuery = true)
     List<GenericStorage> findByNameLike(String name);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ClusterRepository.findByName"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike ?1 and type = 'Cluster'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Cluster' and cp.name ilike ?1", nativeQuery = true)
     List<GenericStorage> findByName(String name);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ClusterRepository.findByProductArea"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'productAreaId' = cast(?1 as text) and type = 'Cluster'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Cluster' and cp.product_area_id = ?1", nativeQuery = true)
     List<GenericStorage> findByProductArea(UUID productAreaId);
 }
@@ -9,6 +9,7 @@ import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.cluster.dto.ClusterRequest;
 import no.nav.data.team.cluster.dto.ClusterResponse;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.shared.domain.HistorizedDomainObject;
 import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.shared.dto.Links;
@@ -17,6 +18,7 @@ import no.nav.data.team.shared.domain.DomainObjectStatus;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static no.nav.data.common.utils.StreamUtils.copyOf;
@@ -62,6 +64,18 @@ public class Cluster implements DomainObject, Membered, HistorizedDomainObject {
     }
 
     public ClusterResponse convertToResponse() {
+        return convertToResponse(Membered.resolveResources(List.of(this)));
+    }
+
+    /**
+     * Convert a list of clusters, resolving the resources of all members in one batch
+     */
+    public static List<ClusterResponse> convertToResponse(List<Cluster> clusters) {
+        var resources = Membered.resolveResources(clusters);
+        return StreamUtils.convert(clusters, cluster -> cluster.convertToResponse(resources));
+    }
+
+    public ClusterResponse convertToResponse(Map<String, ResourceResponse> resources) {
         return ClusterResponse.builder()
                 .id(id)
                 .name(name)
@@ -69,7 +83,7 @@ public class Cluster implements DomainObject, Membered, HistorizedDomainObject {
                 .slackChannel(slackChannel)
                 .tags(copyOf(tags))
                 .productAreaId(productAreaId)
-                .members(StreamUtils.convert(members, ClusterMember::convertToResponse))
+                .members(StreamUtils.convert(members, member -> member.convertToResponse(resources)))
                 .status(status)
                 .changeStamp(convertChangeStampResponse())
                 .links(Links.getFor(this))
@@ -1,44 +1,54 @@
 package no.nav.data.team.dashboard;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import no.nav.data.common.storage.StorageChangedEvent;
 import no.nav.data.common.utils.StreamUtils;
-import no.nav.data.team.cluster.ClusterService;
+import no.nav.data.common.web.CatalogVersion;
 import no.nav.data.team.cluster.domain.Cluster;
 import no.nav.data.team.dashboard.dto.DashResponse;
 import no.nav.data.team.location.LocationRepository;
-import no.nav.data.team.member.dto.MemberResponse;
-import no.nav.data.team.po.ProductAreaService;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.po.domain.ProductArea;
 import no.nav.data.team.resource.NomClient;
+import no.nav.data.team.resource.ResourcesChangedEvent;
 import no.nav.data.team.resource.domain.ResourceType;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 import no.nav.data.team.shared.domain.Member;
-import no.nav.data.team.team.TeamService;
+import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.team.domain.*;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static no.nav.data.common.storage.domain.TypeRegistration.typeOf;
 import static no.nav.data.common.utils.StreamUtils.*;
 
-@Configuration
-@RequiredArgsConstructor
+/**
+ * Keeps a materialized dashboard snapshot. Catalog writes mark the snapshot dirty, the next read returns the current snapshot and starts a rebuild in the background.
+ * Resource changes and time based figures are picked up by the scheduled refresh.
+ */
 @Slf4j
+@Service
+@RequiredArgsConstructor
 public class DashCacheProvider {
-    private final ProductAreaService productAreaService;
-    private final TeamService teamService;
-    private final ClusterService clusterService;
+    private final MembershipIndex membershipIndex;
     private final NomClient nomClient;
     private final LocationRepository locationRepository;
 
@@ -46,22 +56,121 @@ public class DashCacheProvider {
     private static final TreeSet<Integer> groups = new TreeSet<>(Set.of(0, 5, 10, 20, Integer.MAX_VALUE));
     private static final TreeSet<Integer> extPercentGroups = new TreeSet<>(Set.of(0, 25, 50, 75, 100));
     private static final BiFunction<Object, Integer, Integer> counter = (k, v) -> v == null ? 1 : v + 1;
+    private static final Set<String> catalogTypes = Set.of(typeOf(Team.class), typeOf(ProductArea.class), typeOf(Cluster.class));
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final AtomicBoolean resourcesChanged = new AtomicBoolean(false);
+    private volatile DashResponse dash;
+    private volatile LocalDateTime dashTime;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("dash-rebuild-"));
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+
+    /**
+     * Only the first read waits for the snapshot to be built
+     */
+    public DashResponse getDash() {
+        var current = dash;
+        if (current == null) {
+            return rebuild(false);
+        }
+        if (dirty.get()) {
+            rebuildInBackground();
+        }
+        return current;
+    }
 
-    @Bean(name="dashCache")
-    public LoadingCache<String, DashResponse> getDashCache() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(Duration.ofMinutes(1))
-                .maximumSize(1).build(k -> calcDash());
+    public void invalidate() {
+        dirty.set(true);
     }
 
-    private DashResponse calcDash() {
-        List<Team> teamsActive = teamService.getAllActive();
-        List<ProductArea> productAreasActive = productAreaService.getAllActive();
-        List<Cluster> clustersActive = clusterService.getAllActive();
+    /**
+     * Drops the snapshot, the next read builds a new one
+     */
+    public synchronized void clear() {
+        dash = null;
+        dashTime = null;
+        dirty.set(true);
+    }
 
-        List<Team> teamsAll = teamService.getAll();
-        List<ProductArea> productAreasAll = productAreaService.getAll();
-        List<Cluster> clustersAll = clusterService.getAll();
+    private void rebuildInBackground() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild(false);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild dash", e);
+            } finally {
+                rebuildQueued.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorageChanged(StorageChangedEvent event) {
+        if (catalogTypes.contains(event.type())) {
+            invalidate();
+        }
+    }
+
+    @EventListener
+    public void onResourcesChanged(ResourcesChangedEvent event) {
+        resourcesChanged.set(true);
+    }
+
+    @Scheduled(initialDelayString = "PT2M", fixedDelayString = "PT1M")
+    public void refresh() {
+        var expired = dashTime == null || dashTime.isBefore(LocalDateTime.now().minus(MAX_AGE));
+        if (resourcesChanged.getAndSet(false) || expired) {
+            rebuild(true);
+        }
+    }
+
+    /**
+     * Only one thread builds the snapshot
+     */
+    private synchronized DashResponse rebuild(boolean force) {
+        if (force || dash == null || dirty.get()) {
+            dirty.set(false);
+            try {
+                var previous = dash;
+                dash = calcDash();
+                dashTime = LocalDateTime.now();
+                if (previous != null && !dash.equals(previous)) {
+                    // counts that depend on time change without a write, the first snapshot only reflects versioned state
+                    CatalogVersion.bump();
+                }
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                throw e;
+            }
+        }
+        return dash;
+    }
+
+    private DashResponse calcDash() {
+        List<Team> teamsAll = membershipIndex.getTeams();
+        List<ProductArea> productAreasAll = membershipIndex.getProductAreas();
+        List<Cluster> clustersAll = membershipIndex.getClusters();
+
+        List<Team> teamsActive = filter(teamsAll, team -> team.getStatus() == DomainObjectStatus.ACTIVE);
+        List<ProductArea> productAreasActive = filter(productAreasAll, pa -> pa.getStatus() == DomainObjectStatus.ACTIVE);
+        List<Cluster> clustersActive = filter(clustersAll, cluster -> cluster.getStatus() == DomainObjectStatus.ACTIVE);
+
+        var teamsByArea = teamsActive.stream().filter(t -> t.getProductAreaId() != null).collect(Collectors.groupingBy(Team::getProductAreaId));
+        var teamsByCluster = groupTeamsByCluster(teamsActive);
+        // summaries only count members of active objects, resolved in one lookup
+        var membered = new ArrayList<Membered>(teamsActive);
+        membered.addAll(productAreasActive);
+        membered.addAll(clustersActive);
+        var resources = Membered.resolveResources(membered);
 
         return DashResponse.builder()
                 .teamsCount(teamsActive.size())
@@ -80,18 +189,26 @@ public class DashCacheProvider {
                 .clusterCountInactive(clustersAll.stream().filter(cluster -> cluster.getStatus().equals(DomainObjectStatus.INACTIVE)).count())
 
                 .total(calcForTotal(teamsActive, productAreasActive, clustersActive))
-                .productAreas(convert(productAreasActive, pa -> calcForArea(filter(teamsActive, t -> pa.getId().equals(t.getProductAreaId())), pa, clustersActive)))
-                .clusters(convert(clustersActive, cluster -> calcForCluster(filter(teamsActive, t -> copyOf(t.getClusterIds()).contains(cluster.getId())), cluster, clustersActive)))
+                .productAreas(convert(productAreasActive, pa -> calcForArea(teamsByArea.getOrDefault(pa.getId(), E), pa, clustersActive)))
+                .clusters(convert(clustersActive, cluster -> calcForCluster(teamsByCluster.getOrDefault(cluster.getId(), E), cluster, clustersActive)))
 
-                .areaSummaryMap(createAreaSummaryMap(teamsActive, productAreasActive, clustersActive))
-                .clusterSummaryMap(createClusterSummaryMap(teamsActive, clustersActive))
-                .teamSummaryMap(createTeamSummaryMap(teamsActive, productAreasActive, clustersActive))
+                .areaSummaryMap(createAreaSummaryMap(teamsByArea, teamsByCluster, productAreasActive, clustersActive, resources))
+                .clusterSummaryMap(createClusterSummaryMap(teamsByCluster, clustersActive, resources))
+                .teamSummaryMap(createTeamSummaryMap(teamsActive, resources))
 
                 .locationSummaryMap(createLocationSummaryMap(teamsActive))
 
                 .build();
     }
 
+    private Map<UUID, List<Team>> groupTeamsByCluster(List<Team> teams) {
+        var map = new HashMap<UUID, List<Team>>();
+        for (var team : teams) {
+            copyOf(team.getClusterIds()).stream().distinct()
+                    .forEach(clusterId -> map.computeIfAbsent(clusterId, id -> new ArrayList<>()).add(team));
+        }
+        return map;
+    }
 
     private <T> void accumulateSubList(HashMap<String, ArrayList<T>> targetMap, String mapKey, List<T> subList ){
         val prev = targetMap.get(mapKey);
@@ -103,13 +220,7 @@ public class DashCacheProvider {
     }
 
     private <T> long countUnique(List<T> listWithPossibleDuplicates){
-        val acc = new ArrayList<T>();
-        for(val item : listWithPossibleDuplicates){
-            if(!acc.contains(item)) {
-                acc.add(item);
-            }
-        }
-        return acc.size();
+        return new HashSet<>(listWithPossibleDuplicates).size();
     }
 
 
@@ -195,14 +306,13 @@ public class DashCacheProvider {
         return out;
     }
 
-    private Map<UUID, DashResponse.ClusterSummary> createClusterSummaryMap(List<Team> teams, List<Cluster> clusters) {
+    private Map<UUID, DashResponse.ClusterSummary> createClusterSummaryMap(Map<UUID, List<Team>> teamsByCluster, List<Cluster> clusters,
+            Map<String, ResourceResponse> resources) {
         val map = new HashMap<UUID, DashResponse.ClusterSummary>();
 
         for (val cluster: clusters){
 
-            val relatedTeams = teams.stream()
-                    .filter(team -> team.getClusterIds().contains(cluster.getId())
-                    ).toList();
+            val relatedTeams = teamsByCluster.getOrDefault(cluster.getId(), E);
 
             val clusterSubteamMembers = relatedTeams.stream()
                     .flatMap(team -> team.getMembers().stream()).toList();
@@ -218,11 +328,7 @@ public class DashCacheProvider {
                     ).stream().reduce((a,b) -> Stream.concat(a,b)).get().toList(), it -> it
             );
 
-            val uniqueResourcesExternal = totaluniqueResources.stream()
-                    .map(ident -> nomClient.getByNavIdent(ident).orElse(null))
-                    .filter(Objects::nonNull)
-                    .filter(ressource -> ressource.getResourceType().equals(ResourceType.EXTERNAL))
-                    .count();
+            val uniqueResourcesExternal = countExternal(totaluniqueResources, resources);
 
             map.put(cluster.getId(), DashResponse.ClusterSummary.builder()
                     .totalMembershipCount(totalMembershipCount)
@@ -238,16 +344,12 @@ public class DashCacheProvider {
         return map;
     }
 
-    private Map<UUID, DashResponse.TeamSummary2> createTeamSummaryMap(List<Team> teams, List<ProductArea> productAreas, List<Cluster> clusters) {
+    private Map<UUID, DashResponse.TeamSummary2> createTeamSummaryMap(List<Team> teams, Map<String, ResourceResponse> resources) {
         val map = new HashMap<UUID, DashResponse.TeamSummary2>();
 
         for(val team : teams){
 
-            val uniqueResourcesExternal = team.getMembers().stream()
-                    .map(teamMember -> nomClient.getByNavIdent(teamMember.getNavIdent()).orElse(null))
-                    .filter(Objects::nonNull)
-                    .filter(resource -> resource.getResourceType().equals(ResourceType.EXTERNAL))
-                    .count();
+            val uniqueResourcesExternal = countExternal(team.getResourceIdents(), resources);
 
 
             map.put(team.getId(), DashResponse.TeamSummary2.builder()
@@ -261,26 +363,24 @@ public class DashCacheProvider {
         return map;
     }
 
-    private Map<UUID, DashResponse.AreaSummary> createAreaSummaryMap(List<Team> teams, List<ProductArea> productAreas, List<Cluster> clusters) {
+    private Map<UUID, DashResponse.AreaSummary> createAreaSummaryMap(Map<UUID, List<Team>> teamsByArea, Map<UUID, List<Team>> teamsByCluster,
+            List<ProductArea> productAreas, List<Cluster> clusters, Map<String, ResourceResponse> resources) {
         val map = new HashMap<UUID, DashResponse.AreaSummary>();
+        val clustersByArea = clusters.stream().filter(cl -> cl.getProductAreaId() != null).collect(Collectors.groupingBy(Cluster::getProductAreaId));
 
         for (val pa: productAreas){
 
-            val relatedClusters = clusters.stream().filter(cl -> pa.getId().equals(cl.getProductAreaId())).toList();
+            val relatedClusters = clustersByArea.getOrDefault(pa.getId(), List.of());
 
 
 
-            val relatedTeams = teams.stream().filter(team ->
-                    pa.getId().equals(team.getProductAreaId())
-            ).toList();
+            val relatedTeams = teamsByArea.getOrDefault(pa.getId(), E);
             long clusterCount = relatedClusters.size();
 
             val relatedClusterMembers = relatedClusters.stream().flatMap(cluster -> {return cluster.getMembers().stream();}).toList();
             val subteamMembers = relatedTeams.stream().flatMap(team -> {return team.getMembers().stream();}).toList();
             val relatedClusterSubteams = relatedClusters.stream()
-                    .flatMap(cluster -> teams.stream()
-                            .filter(team -> team.getClusterIds().contains(cluster.getId()))
-                    ).toList();
+                    .flatMap(cluster -> teamsByCluster.getOrDefault(cluster.getId(), E).stream()).toList();
 
             val allSubteams = relatedClusterSubteams.stream().map(it -> it.getId()).collect(Collectors.toSet());
             allSubteams.addAll(relatedTeams.stream().map(it -> it.getId()).collect(Collectors.toSet()));
@@ -315,11 +415,7 @@ public class DashCacheProvider {
                     ).stream().reduce((a,b) -> Stream.concat(a,b)).get().toList(), it -> it
             );
 
-            val uniqueResourcesExternal = uniqueResources.stream()
-                    .map(ident -> nomClient.getByNavIdent(ident).orElse(null))
-                    .filter(Objects::nonNull)
-                    .filter(ressource -> ressource.getResourceType().equals(ResourceType.EXTERNAL))
-                    .count();
+            val uniqueResourcesExternal = countExternal(uniqueResources, resources);
 
 
             map.put(pa.getId(), DashResponse.AreaSummary.builder()
@@ -356,7 +452,6 @@ public class DashCacheProvider {
         Map<TeamType, Integer> teamTypes = new EnumMap<>(TeamType.class);
 
         Map<Integer, List<Team>> teamsBuckets = teams.stream().collect(Collectors.groupingBy(t -> groups.ceiling(t.getMembers().size())));
-        Map<Integer, List<Team>> extPercentBuckets = teams.stream().collect(Collectors.groupingBy(t -> extPercentGroups.ceiling(percentExternalMembers(t))));
 
         teams.stream().flatMap(t -> t.getMembers().stream()).flatMap(m -> m.getRoles().stream()).forEach(r -> roles.compute(r, counter));
         teams.forEach(t -> teamOwnershipTypes.compute(t.getTeamOwnershipType() == null ? TeamOwnershipType.UNKNOWN : t.getTeamOwnershipType(), counter));
@@ -388,6 +483,12 @@ public class DashCacheProvider {
         }
         clusterMembers.stream().flatMap(m -> m.getRoles().stream()).forEach(r -> roles.compute(r, counter));
 
+        var resources = nomClient.resolveAll(Stream.concat(
+                Stream.concat(productAreaMembers.stream(), clusterMembers.stream()),
+                teams.stream().flatMap(team -> team.getMembers().stream())
+        ).map(Member::getNavIdent).toList());
+        Map<Integer, List<Team>> extPercentBuckets = teams.stream().collect(Collectors.groupingBy(t -> extPercentGroups.ceiling(percentExternalMembers(t, resources))));
+
         return DashResponse.TeamSummary.builder()
                 .productAreaId(productArea != null ? productArea.getId() : null)
                 .clusterId(cluster != null ? cluster.getId() : null)
@@ -408,7 +509,7 @@ public class DashCacheProvider {
                 .teamExternalUpto100p(extPercentBuckets.getOrDefault(100, E).size())
 
                 .uniqueResources(countUniqueResources(teams, productAreaMembers, clusterMembers))
-                .uniqueResourcesExternal(countUniqueResourcesExternal(teams, productAreaMembers, clusterMembers))
+                .uniqueResourcesExternal(countUniqueResourcesExternal(teams, productAreaMembers, clusterMembers, resources))
                 .totalResources(countResources(teams, productAreaMembers, clusterMembers))
 
                 .roles(roles.entrySet().stream()
@@ -424,16 +525,16 @@ public class DashCacheProvider {
                 .build();
     }
 
-    private long countUniqueResourcesExternal(List<Team> teams, List<Member> productAreaMembers, List<Member> clusterMembers) {
+    private long countUniqueResourcesExternal(List<Team> teams, List<Member> productAreaMembers, List<Member> clusterMembers, Map<String, ResourceResponse> resources) {
         return Stream.concat(
                         Stream.concat(
-                                productAreaMembers.stream().map(Member::convertToResponse),
-                                teams.stream().flatMap(team -> team.getMembers().stream()).map(TeamMember::convertToResponse)
+                                productAreaMembers.stream().map(Member::getNavIdent),
+                                teams.stream().flatMap(team -> team.getMembers().stream()).map(TeamMember::getNavIdent)
                         ),
-                        clusterMembers.stream().map(Member::convertToResponse)
+                        clusterMembers.stream().map(Member::getNavIdent)
                 )
-                .filter(m -> ResourceType.EXTERNAL == m.getResource().getResourceType())
-                .map(MemberResponse::getNavIdent).distinct()
+                .distinct()
+                .filter(ident -> isExternal(ident, resources))
                 .count();
     }
 
@@ -452,12 +553,21 @@ public class DashCacheProvider {
                 productAreaMembers.size() + clusterMembers.size();
     }
 
-    private int percentExternalMembers(Team t) {
+    private int percentExternalMembers(Team t, Map<String, ResourceResponse> resources) {
         if (t.getMembers().isEmpty()) {
             return 0;
         }
-        long externalMembers = t.getMembers().stream().map(TeamMember::convertToResponse).filter(m -> ResourceType.EXTERNAL == m.getResource().getResourceType()).count();
+        long externalMembers = t.getMembers().stream().filter(m -> isExternal(m.getNavIdent(), resources)).count();
         return ((int) externalMembers * 100) / t.getMembers().size();
     }
 
+    private static long countExternal(Collection<String> idents, Map<String, ResourceResponse> resources) {
+        return idents.stream().filter(Objects::nonNull).map(String::toUpperCase).distinct().filter(ident -> isExternal(ident, resources)).count();
+    }
+
+    private static boolean isExternal(String ident, Map<String, ResourceResponse> resources) {
+        var resource = resources.get(ident.toUpperCase());
+        return resource != null && ResourceType.EXTERNAL == resource.getResourceType();
+    }
+
 }
@@ -10,24 +10,23 @@ import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.TeamCatalogProps;
 import no.nav.data.common.exceptions.TechnicalException;
 import no.nav.data.common.exceptions.ValidationException;
-import no.nav.data.team.cluster.domain.Cluster;
 import no.nav.data.team.member.MemberExportService.SpreadsheetType;
 import no.nav.data.team.member.dto.MembershipResponse;
-import no.nav.data.team.po.domain.ProductArea;
-import no.nav.data.team.po.dto.ProductAreaResponse;
-import no.nav.data.team.resource.domain.ResourceRepository;
-import no.nav.data.team.team.domain.Team;
+import no.nav.data.team.shared.domain.Membered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static no.nav.data.common.export.ExcelBuilder.SPREADSHEETML_SHEET_MIME;
 import static no.nav.data.common.utils.StreamUtils.convert;
@@ -38,12 +37,12 @@ import static no.nav.data.common.utils.StreamUtils.convert;
 @Tag(name = "Member", description = "Member endpoint")
 public class MemberController {
 
-    private final ResourceRepository resourceRepository;
+    private final MembershipIndex membershipIndex;
     private final MemberExportService memberExportService;
     private final TeamCatalogProps teamCatalogProps;
 
-    public MemberController(ResourceRepository resourceRepository, MemberExportService memberExportService, TeamCatalogProps teamCatalogProps) {
-        this.resourceRepository = resourceRepository;
+    public MemberController(MembershipIndex membershipIndex, MemberExportService memberExportService, TeamCatalogProps teamCatalogProps) {
+        this.membershipIndex = membershipIndex;
         this.memberExportService = memberExportService;
         this.teamCatalogProps = teamCatalogProps;
     }
@@ -53,11 +52,15 @@ public class MemberController {
     @GetMapping("/membership/{id}")
     public ResponseEntity<MembershipResponse> getAll(@PathVariable String id) {
         log.info("Get memberships for navident {}",id);
-        var memberships = resourceRepository.findByMemberIdent(id);
+        var memberships = membershipIndex.getMemberships(id);
+        var membered = new ArrayList<Membered>(memberships.teams());
+        membered.addAll(memberships.productAreas());
+        membered.addAll(memberships.clusters());
+        var resources = Membered.resolveResources(membered);
         return ResponseEntity.ok(new MembershipResponse(
-                convert(memberships.teams(), Team::convertToResponse),
-                convert(memberships.productAreas(), this::convertProductAreaToReponse),
-                convert(memberships.clusters(), Cluster::convertToResponse)
+                convert(memberships.teams(), t -> t.convertToResponse(resources)),
+                convert(memberships.productAreas(), pa -> pa.convertToResponse(teamCatalogProps.getDefaultProductareaUuid(), resources)),
+                convert(memberships.clusters(), cl -> cl.convertToResponse(resources))
         ));
     }
 
@@ -74,25 +77,19 @@ public class MemberController {
         if (type != SpreadsheetType.ALL && id == null) {
             throw new ValidationException("missing id for spreadsheet type " + type);
         }
-        byte[] doc = memberExportService.generateSpreadsheet(type, id);
         String filename = "resources_" + type + Optional.ofNullable(id).map(s -> "_" + s).orElse("") + ".xlsx";
         response.setContentType(SPREADSHEETML_SHEET_MIME);
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
-        writeDoc(response, doc);
+        writeDoc(response, out -> memberExportService.generateSpreadsheet(type, id, out));
     }
 
-    private void writeDoc(HttpServletResponse response, byte[] doc) {
+    private void writeDoc(HttpServletResponse response, Consumer<OutputStream> doc) {
         try {
-            StreamUtils.copy(doc, response.getOutputStream());
+            doc.accept(response.getOutputStream());
             response.flushBuffer();
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new TechnicalException("io error", e);
         }
     }
 
-    private ProductAreaResponse convertProductAreaToReponse(ProductArea pa){
-        return pa.convertToResponse(teamCatalogProps.getDefaultProductareaUuid());
-    }
-
-
 }
@@ -3,7 +3,7 @@ package no.nav.data.team.member;
 import lombok.RequiredArgsConstructor;
 import no.nav.data.common.export.ExcelBuilder;
 import no.nav.data.common.utils.DateUtil;
-import no.nav.data.common.utils.StreamUtils;
+import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.common.utils.StringUtils;
 import no.nav.data.team.cluster.ClusterService;
 import no.nav.data.team.cluster.domain.Cluster;
@@ -18,17 +18,25 @@ import no.nav.data.team.team.TeamService;
 import no.nav.data.team.team.domain.Team;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static no.nav.data.common.utils.StreamUtils.convert;
 import static no.nav.data.common.utils.StreamUtils.filter;
-import static no.nav.data.common.utils.StreamUtils.tryFind;
+import static no.nav.data.common.utils.StreamUtils.safeStream;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 @Service
@@ -49,69 +57,85 @@ public class MemberExportService {
     private final ClusterService clusterService;
     private final NomGraphClient nomGraphClient;
 
-    public byte[] generateSpreadsheet(SpreadsheetType type, String filter) {
-        var pas = productAreaService.getAll();
-        var clusters = clusterService.getAll();
+    public void generateSpreadsheet(SpreadsheetType type, String filter, OutputStream out) {
+        var pas = byId(productAreaService.getAll());
+        var clusters = byId(clusterService.getAll());
         var members = switch (type) {
             case ALL -> getAll(pas, clusters);
             case AREA -> getForProductArea(StringUtils.toUUID(filter), pas, clusters);
             case CLUSTER -> getForCluster(StringUtils.toUUID(filter), pas, clusters);
             case TEAM -> mapTeamMembers(List.of(teamService.get(StringUtils.toUUID(filter))), pas, clusters).collect(toList());
-            case ROLE -> filter(getAll(pas, clusters), m -> convert(m.member().getRoles(), Enum::name).contains(filter));
-            case LEADER -> filter(getAll(pas, clusters), m -> {
-                var leaderMembers = nomGraphClient.getLeaderMembersActiveOnly(filter);
-                return leaderMembers.contains(m.member().getNavIdent());
-            });
+            case ROLE -> filter(getAll(pas, clusters), m -> safeStream(m.member().getRoles()).anyMatch(r -> r.name().equals(filter)));
+            case LEADER -> {
+                var leaderMembers = new HashSet<>(nomGraphClient.getLeaderMembersActiveOnly(filter));
+                yield filter(getAll(pas, clusters), m -> leaderMembers.contains(m.member().getNavIdent()));
+            }
         };
-        return generateFor(members);
+        generateFor(members, out);
     }
 
-    private List<Member> getAll(List<ProductArea> pas, List<Cluster> clusters) {
+    private List<Member> getAll(Map<UUID, ProductArea> pas, Map<UUID, Cluster> clusters) {
         return Stream.concat(
                 Stream.concat(
                         mapTeamMembers(teamService.getAll(), pas, clusters),
-                        mapPaMembers(pas)
+                        mapPaMembers(pas.values())
                 ),
-                mapClusterMembers(clusters, pas)
+                mapClusterMembers(clusters.values(), pas)
         ).collect(toList());
     }
 
-    private List<Member> getForProductArea(UUID id, List<ProductArea> pas, List<Cluster> clusters) {
+    private List<Member> getForProductArea(UUID id, Map<UUID, ProductArea> pas, Map<UUID, Cluster> clusters) {
         ProductArea productArea = productAreaService.get(id);
         return Stream.concat(Stream.concat(
                 mapPaMembers(List.of(productArea)),
                 mapTeamMembers(teamService.findByProductArea(id), pas, clusters))
-                , mapClusterMembers(filter(clusters, cl -> productArea.getId().equals(cl.getProductAreaId())), pas)
+                , mapClusterMembers(filter(clusters.values(), cl -> productArea.getId().equals(cl.getProductAreaId())), pas)
         ).collect(toList());
     }
 
-    private List<Member> getForCluster(UUID id, List<ProductArea> pas, List<Cluster> clusters) {
+    private List<Member> getForCluster(UUID id, Map<UUID, ProductArea> pas, Map<UUID, Cluster> clusters) {
         return Stream.concat(
                 mapClusterMembers(List.of(clusterService.get(id)), pas),
                 mapTeamMembers(teamService.findByCluster(id), pas, clusters)
         ).collect(toList());
     }
 
-    private Stream<Member> mapPaMembers(List<ProductArea> productAreas) {
-        return productAreas.stream().flatMap(pa -> pa.getMembers().stream().map(m -> new Member(Relation.PA, m.convertToResponse(), null, pa, List.of())));
+    private Stream<Member> mapPaMembers(Collection<ProductArea> productAreas) {
+        var resources = Membered.resolveResources(productAreas);
+        return productAreas.stream().flatMap(pa -> pa.getMembers().stream().map(m -> new Member(Relation.PA, m.convertToResponse(resources), null, pa, List.of())));
+    }
+
+    private Stream<Member> mapClusterMembers(Collection<Cluster> clusters, Map<UUID, ProductArea> productAreas) {
+        var resources = Membered.resolveResources(clusters);
+        return clusters.stream().flatMap(cluster -> {
+            ProductArea productArea = get(productAreas, cluster.getProductAreaId());
+            return cluster.getMembers().stream().map(m -> new Member(Relation.CLUSTER, m.convertToResponse(resources), null, productArea, List.of(cluster)));
+        });
     }
 
-    private Stream<Member> mapClusterMembers(List<Cluster> clusters, List<ProductArea> productAreas) {
-        return clusters.stream().flatMap(cluster -> cluster.getMembers().stream()
-                .map(m -> new Member(Relation.CLUSTER, m.convertToResponse(), null, tryFind(productAreas, pa -> pa.getId().equals(cluster.getProductAreaId())).orElse(null),
-                        List.of(cluster))));
+    private Stream<Member> mapTeamMembers(List<Team> teams, Map<UUID, ProductArea> pas, Map<UUID, Cluster> clusters) {
+        var resources = Membered.resolveResources(teams);
+        return teams.stream().flatMap(t -> {
+            ProductArea productArea = get(pas, t.getProductAreaId());
+            List<Cluster> clustersForTeam = safeStream(t.getClusterIds()).map(clusters::get).filter(Objects::nonNull).toList();
+            return t.getMembers().stream().map(m -> new Member(Relation.TEAM, m.convertToResponse(resources), t, productArea, clustersForTeam));
+        });
     }
 
-    private Stream<Member> mapTeamMembers(List<Team> teams, List<ProductArea> pas, List<Cluster> clusters) {
-        return teams.stream().flatMap(t -> t.getMembers().stream().map(m -> {
-            ProductArea productArea = t.getProductAreaId() != null ? StreamUtils.find(pas, pa -> pa.getId().equals(t.getProductAreaId())) : null;
-            List<Cluster> clustersForTeam = filter(clusters, cluster -> t.getClusterIds().contains(cluster.getId()));
-            return new Member(Relation.TEAM, m.convertToResponse(), t, productArea, clustersForTeam);
-        }));
+    private static <T extends DomainObject> Map<UUID, T> byId(List<T> objects) {
+        return objects.stream().collect(toMap(DomainObject::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
     }
 
-    private byte[] generateFor(List<Member> members) {
-        var doc = new ExcelBuilder(Lang.MEMBERS);
+    private static <T> T get(Map<UUID, T> map, UUID id) {
+        return id == null ? null : map.get(id);
+    }
+
+    private void generateFor(List<Member> members, OutputStream out) {
+        Comparator<Member> c1 = comparing(m -> ofNullable(m.member.getResource().getFamilyName()).orElse(""));
+        Comparator<Member> c2 = c1.thenComparing(m -> ofNullable(m.member.getResource().getGivenName()).orElse(""));
+        members.sort(c2);
+
+        var doc = new ExcelBuilder(Lang.MEMBERS, out);
         doc.addRow()
                 .addCell(Lang.RELATION)
                 .addCell(Lang.AREA)
@@ -127,12 +151,9 @@ public class MemberExportService {
                 .addCell(Lang.START_DATE)
                 .addCell(Lang.END_DATE);
 
-        Comparator<Member> c1 = comparing(m -> ofNullable(m.member.getResource().getFamilyName()).orElse(""));
-        Comparator<Member> c2 = c1.thenComparing(m -> ofNullable(m.member.getResource().getGivenName()).orElse(""));
-        members.sort(c2);
         members.forEach(m -> add(doc, m));
 
-        return doc.build();
+        doc.finish();
     }
 
     private void add(ExcelBuilder doc, Member member) {
@@ -0,0 +1,195 @@
+package no.nav.data.team.member;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Summary;
+import lombok.extern.slf4j.Slf4j;
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.storage.domain.DomainObject;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.common.utils.MetricUtils;
+import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.po.domain.ProductArea;
+import no.nav.data.team.shared.domain.Member;
+import no.nav.data.team.shared.domain.Membered;
+import no.nav.data.team.team.domain.Team;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static no.nav.data.common.utils.StreamUtils.filter;
+import static no.nav.data.common.utils.StreamUtils.nullToEmptyList;
+
+/**
+ * In-memory copy of all teams, product areas and clusters, with a reverse index from navIdent to the objects the ident is a member of.
+ * <p>
+ * Writes through {@link StorageService} (locally or on other instances, see {@link no.nav.data.common.auditing.AuditChangePoller})
+ * mark objects as changed, and changed objects are reloaded on the next read. Readers get an immutable snapshot.
+ * Returned objects are shared and must not be modified.
+ */
+@Slf4j
+@Component
+public class MembershipIndex {
+
+    private static final Map<String, Class<? extends Membered>> types = Map.of(
+            TypeRegistration.typeOf(Team.class), Team.class,
+            TypeRegistration.typeOf(ProductArea.class), ProductArea.class,
+            TypeRegistration.typeOf(Cluster.class), Cluster.class
+    );
+
+    private static final Gauge sizeGauge = MetricUtils.gauge()
+            .name("membership_index_gauge").help("Members in membership index").register();
+    private static final Summary loadSummary = MetricUtils.summary()
+            .labels("full").labels("partial")
+            .labelNames("action")
+            .name("membership_index_load_summary").help("Time taken to load the membership index")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+
+    private final StorageService storage;
+
+    private final Map<UUID, Class<? extends Membered>> changed = new ConcurrentHashMap<>();
+    private volatile boolean rebuild = true;
+    private volatile State state = new State(Map.of(), Map.of());
+
+    public MembershipIndex(StorageService storage) {
+        this.storage = storage;
+    }
+
+    public Membership getMemberships(String navIdent) {
+        var current = state();
+        var membered = current.get(current.byIdent().getOrDefault(navIdent, Set.of()));
+        return new Membership(ofType(membered, Team.class), ofType(membered, ProductArea.class), ofType(membered, Cluster.class));
+    }
+
+    public List<Membered> getMembered(String navIdent) {
+        var current = state();
+        return current.get(current.byIdent().getOrDefault(navIdent, Set.of()));
+    }
+
+    public Set<String> getMemberIdents() {
+        return state().byIdent().keySet();
+    }
+
+    public List<Team> getTeams() {
+        return ofType(state().byId().values(), Team.class);
+    }
+
+    public List<ProductArea> getProductAreas() {
+        return ofType(state().byId().values(), ProductArea.class);
+    }
+
+    public List<Cluster> getClusters() {
+        return ofType(state().byId().values(), Cluster.class);
+    }
+
+    /**
+     * Reload everything on next read
+     */
+    public void invalidate() {
+        rebuild = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        state();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorageChanged(StorageChangedEvent event) {
+        var type = types.get(event.type());
+        if (type == null) {
+            return;
+        }
+        if (event.ids().isEmpty()) {
+            invalidate();
+        } else {
+            event.ids().forEach(id -> changed.put(id, type));
+        }
+    }
+
+    /**
+     * Safety net for writes that bypass {@link StorageService}
+     */
+    @Scheduled(initialDelayString = "PT10M", fixedRateString = "PT10M")
+    public void scheduledRebuild() {
+        invalidate();
+        state();
+    }
+
+    private State state() {
+        if (rebuild || !changed.isEmpty()) {
+            update();
+        }
+        return state;
+    }
+
+    private synchronized void update() {
+        if (rebuild) {
+            rebuild = false;
+            changed.clear();
+            try (var ignored = loadSummary.labels("full").startTimer()) {
+                var all = new HashMap<UUID, Membered>();
+                types.values().forEach(type -> storage.getAll(type).forEach(m -> all.put(m.getId(), m)));
+                state = State.create(all);
+            } catch (RuntimeException e) {
+                rebuild = true;
+                throw e;
+            }
+        } else if (!changed.isEmpty()) {
+            var ids = new HashMap<>(changed);
+            ids.keySet().forEach(changed::remove);
+            try (var ignored = loadSummary.labels("partial").startTimer()) {
+                var all = new HashMap<>(state.byId());
+                all.keySet().removeAll(ids.keySet());
+                new HashSet<>(ids.values()).forEach(type -> storage.getAll(filter(ids.keySet(), id -> ids.get(id) == type), type)
+                        .forEach(m -> all.put(m.getId(), m)));
+                state = State.create(all);
+            } catch (RuntimeException e) {
+                changed.putAll(ids);
+                throw e;
+            }
+        }
+        sizeGauge.set(state.byIdent().size());
+    }
+
+    private static <T extends DomainObject> List<T> ofType(Collection<? extends DomainObject> objects, Class<T> type) {
+        return objects.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    private record State(Map<UUID, Membered> byId, Map<String, Set<UUID>> byIdent) {
+
+        static State create(Map<UUID, Membered> byId) {
+            var byIdent = new HashMap<String, Set<UUID>>();
+            for (Membered membered : byId.values()) {
+                for (Member member : nullToEmptyList(membered.getMembers())) {
+                    if (member.getNavIdent() == null) {
+                        continue;
+                    }
+                    byIdent.computeIfAbsent(member.getNavIdent(), ident -> new LinkedHashSet<>()).add(membered.getId());
+                }
+            }
+            return new State(Map.copyOf(byId), Map.copyOf(byIdent));
+        }
+
+        List<Membered> get(Set<UUID> ids) {
+            return ids.stream().map(byId::get).toList();
+        }
+    }
+
+    public record Membership(List<Team> teams, List<ProductArea> productAreas, List<Cluster> clusters) {
+
+    }
+}
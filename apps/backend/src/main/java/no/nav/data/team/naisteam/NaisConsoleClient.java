@@ -5,6 +5,7 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.utils.MetricUtils;
 import no.nav.data.common.utils.StreamUtils;
+import no.nav.data.common.web.CatalogVersion;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.ParameterizedTypeReference;
@@ -16,7 +17,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.time.temporal.ChronoUnit.MINUTES;
 import static java.util.Collections.singletonList;
@@ -34,6 +37,8 @@ public class NaisConsoleClient {
 
     private final LoadingCache<String, List<NaisTeam>> allTeamsCache;
     private final LoadingCache<String, NaisTeam> teamCache;
+    // last fetched result per cache key, to detect changes
+    private final Map<String, Optional<?>> fetched = new ConcurrentHashMap<>();
 
     public NaisConsoleClient(WebClient.Builder builder, NaisConsoleProperties consoleProperties) {
         client = HttpGraphQlClient.builder(builder)
@@ -50,13 +55,13 @@ public class NaisConsoleClient {
         this.allTeamsCache = Caffeine.newBuilder().recordStats()
                 .expireAfterWrite(Duration.of(10, MINUTES))
                 .maximumSize(1)
-                .build(k -> fetchAllNaisTeams());
+                .build(k -> changed("all", fetchAllNaisTeams()));
 
         this.teamCache = Caffeine.newBuilder()
                 .recordStats()
                 .expireAfterWrite(Duration.of(10, MINUTES))
                 .maximumSize(100)
-                .build(this::fetchNaisTeam);
+                .build(slug -> changed("team:" + slug, fetchNaisTeam(slug)));
 
         MetricUtils.register("NaisConsoleTeamsCache", allTeamsCache);
         MetricUtils.register("NaisConsoleTeamCache", teamCache);
@@ -103,6 +108,18 @@ public class NaisConsoleClient {
         return out;
     }
 
+    /**
+     * Bumps the catalog version if a refetch returns something new, not on the first fetch
+     */
+    private <T> T changed(String key, T value) {
+        var current = Optional.ofNullable(value);
+        var previous = fetched.put(key, current);
+        if (previous != null && !current.equals(previous)) {
+            CatalogVersion.bump();
+        }
+        return value;
+    }
+
     private NaisTeam fetchNaisTeam(String slug) {
         var response = client.document(NaisTeam.TEAM_QUERY)
                 .variable("slug", slug)
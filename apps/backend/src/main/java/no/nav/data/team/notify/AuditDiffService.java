@@ -21,10 +21,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static no.nav.data.common.utils.StreamUtils.convert;
 import static no.nav.data.common.utils.StreamUtils.filter;
 import static no.nav.data.common.utils.StreamUtils.find;
@@ -153,6 +156,19 @@ public class AuditDiffService {
     }
 
     private List<AuditTarget> convertAuditTargets(String ident, List<Target> targets) {
+        // fetch previous and last audits for all targets up front, keeps the number of queries per task constant
+        var unchangedTargetIds = targets.stream().filter(t -> t.getAudits().isEmpty()).map(t -> t.getTarget().toString()).collect(toSet());
+        var lastAudits = unchangedTargetIds.isEmpty() ? Map.<UUID, AuditMetadata>of() : auditVersionRepository.lastAuditForObjects(unchangedTargetIds).stream()
+                .collect(toMap(AuditMetadata::getTableId, Function.identity()));
+        var previousLookupIds = targets.stream()
+                .filter(t -> !t.getAudits().isEmpty() && t.getAudits().get(0).getAction() != Action.CREATE)
+                .map(t -> t.getAudits().get(0).getId())
+                .collect(toSet());
+        var previousIds = new HashMap<UUID, UUID>();
+        if (!previousLookupIds.isEmpty()) {
+            auditVersionRepository.getPreviousAuditIdsFor(previousLookupIds).forEach(p -> previousIds.put(p.getId(), p.getPreviousId()));
+        }
+
         return convert(targets, target -> {
             var targetId = target.getTarget();
             var audits = target.getAudits();
@@ -161,13 +177,13 @@ public class AuditDiffService {
             UUID curr;
             if (audits.isEmpty()) {
                 // If the target in question has not actually changed, ie. a team added/removed in a product area
-                oldestAudit = auditVersionRepository.lastAuditForObject(targetId);
+                oldestAudit = lastAudits.get(targetId);
                 prev = oldestAudit.getId();
                 curr = oldestAudit.getId();
             } else {
                 oldestAudit = audits.get(0);
                 var newestAudit = audits.get(audits.size() - 1);
-                prev = getPreviousFor(oldestAudit);
+                prev = oldestAudit.getAction() == Action.CREATE ? null : previousIds.get(oldestAudit.getId());
                 curr = newestAudit.getAction() == Action.DELETE ? null : newestAudit.getId();
             }
             if (prev == null && curr == null) {
@@ -186,13 +202,6 @@ public class AuditDiffService {
         });
     }
 
-    private UUID getPreviousFor(AuditMetadata oldestAudit) {
-        if (oldestAudit.getAction() == Action.CREATE) {
-            return null;
-        }
-        return UUID.fromString(auditVersionRepository.getPreviousAuditIdFor(oldestAudit.getId()));
-    }
-
     @Value
     static class NotificationTargetAudits {
 
@@ -1,5 +1,6 @@
 package no.nav.data.team.notify;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.Data;
@@ -31,11 +32,17 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static no.nav.data.common.utils.StreamUtils.convert;
 import static no.nav.data.common.utils.StreamUtils.filterCommonElements;
 import static no.nav.data.team.contact.domain.ContactMessage.Paragraph.VarselUrl.url;
@@ -55,7 +62,17 @@ public class NotificationMessageGenerator {
         this.auditVersionRepository = auditVersionRepository;
         this.auditCache = Caffeine.newBuilder().recordStats()
                 .expireAfterWrite(Duration.ofMinutes(5))
-                .maximumSize(1000).build(id -> auditVersionRepository.findById(id).orElseThrow());
+                .maximumSize(1000).build(new CacheLoader<>() {
+                    @Override
+                    public AuditVersion load(UUID id) {
+                        return auditVersionRepository.findById(id).orElseThrow();
+                    }
+
+                    @Override
+                    public Map<UUID, AuditVersion> loadAll(Set<? extends UUID> ids) {
+                        return auditVersionRepository.findAllById(List.copyOf(ids)).stream().collect(toMap(AuditVersion::getId, Function.identity()));
+                    }
+                });
         this.paCache = Caffeine.newBuilder().recordStats()
                 .expireAfterWrite(Duration.ofMinutes(1))
                 .maximumSize(1000).build(id -> storageService.get(id, ProductArea.class));
@@ -68,7 +85,7 @@ public class NotificationMessageGenerator {
         var model = new UpdateModel();
         model.setBaseUrl(urlGenerator.getBaseUrl());
         model.setTime(task.getTime());
-        task.getTargets().forEach(this::fetchAuditVersions);
+        fetchAuditVersions(task.getTargets());
 
         task.getTargets().forEach(t -> {
             if (t.isSilent()) {
@@ -95,9 +112,21 @@ public class NotificationMessageGenerator {
         return new NotificationMessage<>("Teamkatalog oppdatering", model, urlGenerator.isDev(), isEmpty);
     }
 
-    private void fetchAuditVersions(AuditTarget auditTarget) {
-        Optional.ofNullable(auditTarget.getPrevAuditId()).ifPresent(id -> auditTarget.setPrevAuditVersion(auditCache.get(id)));
-        Optional.ofNullable(auditTarget.getCurrAuditId()).ifPresent(id -> auditTarget.setCurrAuditVersion(auditCache.get(id)));
+    private void fetchAuditVersions(List<AuditTarget> auditTargets) {
+        var ids = auditTargets.stream().flatMap(t -> Stream.of(t.getPrevAuditId(), t.getCurrAuditId())).filter(Objects::nonNull).collect(toSet());
+        var audits = auditCache.getAll(ids);
+        auditTargets.forEach(t -> {
+            Optional.ofNullable(t.getPrevAuditId()).map(id -> audit(audits, id)).ifPresent(t::setPrevAuditVersion);
+            Optional.ofNullable(t.getCurrAuditId()).map(id -> audit(audits, id)).ifPresent(t::setCurrAuditVersion);
+        });
+    }
+
+    private AuditVersion audit(Map<UUID, AuditVersion> audits, UUID id) {
+        var audit = audits.get(id);
+        if (audit == null) {
+            throw new NotFoundException("Couldn't find audit " + id);
+        }
+        return audit;
     }
 
     private UpdateItem diffItem(AuditVersion prevVersion, AuditVersion currVersion, NotificationTask task) {
@@ -0,0 +1,49 @@
+package no.nav.data.team.notify;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import no.nav.data.team.notify.domain.Notification.NotificationChannel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notify")
+public class NotificationProperties {
+
+    /**
+     * Send limits per channel, channels not listed get the defaults of {@link ChannelLimit}
+     */
+    private Map<NotificationChannel, ChannelLimit> channels = new EnumMap<>(Map.of(
+            NotificationChannel.SLACK, new ChannelLimit(2, 5),
+            NotificationChannel.EMAIL, new ChannelLimit(2, 5)
+    ));
+    /**
+     * Tasks are only started within this time of a run, tasks beyond the rate are left for the next run. Must be well within the scheduler lock.
+     */
+    private Duration maxRunTime = Duration.ofMinutes(5);
+
+    public ChannelLimit getLimit(NotificationChannel channel) {
+        return channels.getOrDefault(channel, new ChannelLimit());
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ChannelLimit {
+
+        /**
+         * Tasks sent at the same time, also the burst allowed by the rate limit
+         */
+        private int concurrency = 1;
+        /**
+         * Sustained send rate
+         */
+        private double permitsPerSecond = 1;
+    }
+}
@@ -9,6 +9,7 @@ import no.nav.data.common.auditing.domain.AuditVersion;
 import no.nav.data.common.auditing.domain.AuditVersionRepository;
 import no.nav.data.common.auditing.dto.AuditMetadata;
 import no.nav.data.common.rest.PageParameters;
+import no.nav.data.common.storage.StorageChangedEvent;
 import no.nav.data.common.storage.StorageService;
 import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.common.utils.DateUtil;
@@ -25,6 +26,7 @@ import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.team.domain.Team;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -58,14 +60,18 @@ public class NotificationScheduler {
     private final AuditVersionRepository auditVersionRepository;
     private final StorageService storage;
     private final AuditDiffService auditDiffService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationTaskDispatcher dispatcher;
 
     public NotificationScheduler(NotificationRepository repository, NotificationService service, AuditVersionRepository auditVersionRepository,
-            StorageService storage, AuditDiffService auditDiffService) {
+            StorageService storage, AuditDiffService auditDiffService, ApplicationEventPublisher eventPublisher, NotificationTaskDispatcher dispatcher) {
         this.repository = repository;
         this.service = service;
         this.auditVersionRepository = auditVersionRepository;
         this.storage = storage;
         this.auditDiffService = auditDiffService;
+        this.eventPublisher = eventPublisher;
+        this.dispatcher = dispatcher;
     }
 
     @Bean
@@ -123,6 +129,7 @@ public class NotificationScheduler {
         if (lastModified.isBefore(cutoff) && lastNudge.isBefore(cutoff)) {
             service.nudge(object);
             repository.updateNudge(object.getId(), LocalDateTime.now().toString());
+            eventPublisher.publishEvent(new StorageChangedEvent(object.type(), List.of(object.getId())));
         }
     }
 
@@ -142,27 +149,14 @@ public class NotificationScheduler {
         int maxErrors = 5;
 
         var tasks = storage.getAll(NotificationTask.class);
-        log.info("NotifyTasks - running {} tasks", tasks.size());
-        var errors = 0;
-        for (var task : tasks) {
-            if (errors >= maxErrors) {
-                snoozeTimes = Math.max(snoozeTimes + 1, 5);
-                snooze = LocalDateTime.now().plusMinutes(3L + pow(4, snoozeTimes));
-                log.warn("NotifyTasks - Max Errors reached -> Snoozing until {}", snooze);
-                return;
-            }
-
-            try {
-                service.notifyTask(task);
-                storage.delete(task);
-
-                snoozeTimes = 0;
-            } catch (MailNotFoundException e) {
-                log.warn("Email error on task id: %s".formatted(task.getId()), e);
-            } catch (Exception e) {
-                errors++;
-                log.error("Failed to notify task id: %s".formatted(task.getId()), e);
-            }
+        var result = dispatcher.dispatch(tasks, maxErrors);
+        if (result.sent() > 0) {
+            snoozeTimes = 0;
+        }
+        if (result.errors() >= maxErrors) {
+            snoozeTimes = Math.max(snoozeTimes + 1, 5);
+            snooze = LocalDateTime.now().plusMinutes(3L + pow(4, snoozeTimes));
+            log.warn("NotifyTasks - Max Errors reached -> Snoozing until {}", snooze);
         }
     }
 
@@ -0,0 +1,171 @@
+package no.nav.data.team.notify;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Summary;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import no.nav.data.common.exceptions.TechnicalException;
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.utils.MetricUtils;
+import no.nav.data.team.notify.domain.Notification.NotificationChannel;
+import no.nav.data.team.notify.domain.NotificationTask;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+
+/**
+ * Runs notification tasks on a pool per channel, sized by the channel concurrency, and rate limited by a token bucket per channel.
+ * Tasks are scheduled for when their permit is available, so no pool thread waits for a permit.
+ * Each run only takes the tasks the rate allows within {@link NotificationProperties#getMaxRunTime()}, so a run stays within the scheduler lock.
+ * Failed tasks are retried with exponential backoff, the attempt state is stored on the task.
+ */
+@Slf4j
+@Component
+public class NotificationTaskDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+
+    private static final Counter taskCounter = MetricUtils.counter()
+            .labels("ok").labels("error").labels("mail_not_found")
+            .labelNames("result")
+            .name("notify_tasks_counter").help("Notification tasks processed").register();
+    private static final Gauge queueGauge = MetricUtils.gauge()
+            .name("notify_tasks_queue_gauge").help("Notification tasks waiting to be sent").register();
+    private static final Summary taskLatency = MetricUtils.summary()
+            .labels(NotificationChannel.SLACK.name()).labels(NotificationChannel.EMAIL.name())
+            .labelNames("channel")
+            .name("notify_tasks_summary").help("Time taken to send a notification task")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+
+    private final NotificationService service;
+    private final StorageService storage;
+    private final Map<NotificationChannel, ScheduledExecutorService> executors = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, TokenBucket> rateLimits = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Integer> runBudgets = new EnumMap<>(NotificationChannel.class);
+
+    public NotificationTaskDispatcher(NotificationService service, StorageService storage, NotificationProperties properties) {
+        this.service = service;
+        this.storage = storage;
+        for (var channel : NotificationChannel.values()) {
+            var limit = properties.getLimit(channel);
+            var threadFactory = new CustomizableThreadFactory("notify-" + channel.name().toLowerCase() + "-");
+            executors.put(channel, Executors.newScheduledThreadPool(limit.getConcurrency(), threadFactory));
+            rateLimits.put(channel, new TokenBucket(limit.getPermitsPerSecond(), limit.getConcurrency()));
+            runBudgets.put(channel, limit.getConcurrency() + (int) (limit.getPermitsPerSecond() * properties.getMaxRunTime().toSeconds()));
+        }
+    }
+
+    /**
+     * Sends due tasks, as many per channel as the run budget allows, and waits for them to complete.
+     * Tasks not yet started are cancelled once maxErrors tasks have failed, and their permits given back.
+     *
+     * @return number of sent and failed tasks
+     */
+    public Result dispatch(List<NotificationTask> tasks, int maxErrors) {
+        var now = LocalDateTime.now();
+        var budgets = new EnumMap<>(runBudgets);
+        var due = tasks.stream()
+                .filter(t -> t.getNextAttempt() == null || !t.getNextAttempt().isAfter(now))
+                .filter(t -> budgets.merge(t.getChannel(), -1, Integer::sum) >= 0)
+                .toList();
+        log.info("NotifyTasks - running {} of {} tasks", due.size(), tasks.size());
+
+        var remaining = new AtomicInteger(due.size());
+        queueGauge.set(remaining.get());
+        var sent = new AtomicInteger();
+        var errors = new AtomicInteger();
+        var scheduled = new ArrayList<Scheduled>();
+        for (var task : due) {
+            var rateLimit = rateLimits.get(task.getChannel());
+            var delay = rateLimit.reserve();
+            scheduled.add(new Scheduled(rateLimit, executors.get(task.getChannel()).schedule(() -> {
+                try {
+                    if (errors.get() < maxErrors) {
+                        run(task, sent, errors);
+                    } else {
+                        rateLimit.release();
+                    }
+                } finally {
+                    queueGauge.set(remaining.decrementAndGet());
+                }
+            }, delay, TimeUnit.NANOSECONDS)));
+        }
+        for (var pending : scheduled) {
+            try {
+                if (errors.get() >= maxErrors && pending.future().cancel(false)) {
+                    pending.rateLimit().release();
+                }
+                pending.future().get();
+            } catch (CancellationException e) {
+                // not started before maxErrors was reached
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TechnicalException("interrupted", e);
+            } catch (ExecutionException e) {
+                log.error("NotifyTasks - dispatch failed", e.getCause());
+            }
+        }
+        queueGauge.set(0);
+        return new Result(sent.get(), errors.get());
+    }
+
+    private void run(NotificationTask task, AtomicInteger sent, AtomicInteger errors) {
+        try (var ignored = taskLatency.labels(task.getChannel().name()).startTimer()) {
+            service.notifyTask(task);
+            storage.delete(task);
+            sent.incrementAndGet();
+            taskCounter.labels("ok").inc();
+        } catch (MailNotFoundException e) {
+            taskCounter.labels("mail_not_found").inc();
+            log.warn("Email error on task id: %s".formatted(task.getId()), e);
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            taskCounter.labels("error").inc();
+            log.error("Failed to notify task id: %s".formatted(task.getId()), e);
+            backoff(task);
+        }
+    }
+
+    private void backoff(NotificationTask task) {
+        try {
+            int attempts = task.getAttempts() + 1;
+            var delay = Duration.ofMinutes((long) min(pow(2, attempts), MAX_BACKOFF.toMinutes()));
+            task.setAttempts(attempts);
+            task.setNextAttempt(LocalDateTime.now().plus(delay));
+            storage.save(task);
+        } catch (Exception e) {
+            log.error("Failed to store retry state for task id: %s".formatted(task.getId()), e);
+        }
+    }
+
+    public record Result(int sent, int errors) {
+
+    }
+
+    private record Scheduled(TokenBucket rateLimit, Future<?> future) {
+
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ScheduledExecutorService::shutdownNow);
+    }
+}
@@ -6,6 +6,7 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import no.nav.data.common.storage.StorageService;
 import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.notify.domain.GenericNotificationTask;
 import no.nav.data.team.notify.domain.GenericNotificationTask.InactiveMembers;
 import no.nav.data.team.notify.domain.GenericNotificationTask.TaskType;
@@ -13,7 +14,7 @@ import no.nav.data.team.po.domain.ProductArea;
 import no.nav.data.team.resource.NomClient;
 import no.nav.data.team.resource.domain.ResourceEvent;
 import no.nav.data.team.resource.domain.ResourceEvent.EventType;
-import no.nav.data.team.shared.domain.DomainObjectStatus;
+import no.nav.data.team.shared.domain.HistorizedDomainObject;
 import no.nav.data.team.shared.domain.Member;
 import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.team.domain.Team;
@@ -29,9 +30,7 @@ import java.util.function.Function;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static no.nav.data.common.utils.StreamUtils.convert;
-import static no.nav.data.common.utils.StreamUtils.convertFlat;
 import static no.nav.data.common.utils.StreamUtils.filter;
-import static no.nav.data.common.utils.StreamUtils.union;
 import static no.nav.data.team.shared.domain.DomainObjectStatus.ACTIVE;
 
 @Slf4j
@@ -43,6 +42,7 @@ public class ResourceEventScheduler {
     private final StorageService storage;
     private final NotificationService service;
     private final NomClient nomClient;
+    private final MembershipIndex membershipIndex;
 
     @Scheduled(cron = "45 */4 * * * ?")
     @SchedulerLock(name = "runMailTasks")
@@ -77,14 +77,7 @@ public class ResourceEventScheduler {
     }
 
     void doGenerateInactiveResourceEvent() {
-        List<Member> members = union(
-                convertFlat(allTeams(), Membered::getMembers),
-                convertFlat(allAreas(), Membered::getMembers),
-                convertFlat(allClusters(), Membered::getMembers)
-        );
-
-        members.stream()
-                .map(Member::getNavIdent).distinct()
+        membershipIndex.getMemberIdents().stream()
                 .map(nomClient::getByNavIdent)
                 .forEach(or -> or.ifPresent(r -> {
                     if (r.isInactive() && r.getEndDate().equals(LocalDate.now())) {
@@ -101,11 +94,17 @@ public class ResourceEventScheduler {
         var inactiveEvents = filter(events, e -> e.getEventType() == EventType.INACTIVE);
         var perResource = inactiveEvents.stream().collect(toMap(ResourceEvent::getIdent, Function.identity(), DomainObject::max));
 
-        convert(activeTeams(), t -> checkGoneInactive(t, perResource))
+        var affected = perResource.keySet().stream()
+                .flatMap(ident -> membershipIndex.getMembered(ident).stream())
+                .filter(m -> ((HistorizedDomainObject) m).getStatus() == ACTIVE)
+                .distinct()
+                .toList();
+
+        convert(filter(affected, Team.class::isInstance), t -> checkGoneInactive(t, perResource))
                 .forEach(ina -> storage.save(new GenericNotificationTask(InactiveMembers.team(ina.membered().getId(), ina.idents()))));
-        convert(activeAreas(), t -> checkGoneInactive(t, perResource))
+        convert(filter(affected, ProductArea.class::isInstance), t -> checkGoneInactive(t, perResource))
                 .forEach(ina -> storage.save(new GenericNotificationTask(InactiveMembers.productArea(ina.membered().getId(), ina.idents()))));
-        convert(activeClusters(), t -> checkGoneInactive(t, perResource))
+        convert(filter(affected, Cluster.class::isInstance), t -> checkGoneInactive(t, perResource))
                 .forEach(ina -> storage.save(new GenericNotificationTask(InactiveMembers.cluster(ina.membered().getId(), ina.idents()))));
         storage.deleteAll(inactiveEvents);
     }
@@ -124,29 +123,5 @@ public class ResourceEventScheduler {
         return ina;
     }
 
-    private List<Team> allTeams() {
-        return storage.getAll(Team.class);
-    }
-
-    private List<Team> activeTeams() {
-        return filter( allTeams(), t -> t.getStatus() == ACTIVE );
-    }
-
-    private List<Cluster> allClusters() {
-        return storage.getAll(Cluster.class);
-    }
-
-    private List<Cluster> activeClusters() {
-        return filter( allClusters(),  c -> c.getStatus() == ACTIVE );
-    }
-
-    private List<ProductArea> allAreas() {
-        return storage.getAll(ProductArea.class);
-    }
-
-    private List<ProductArea> activeAreas() {
-        return filter( allAreas(), pa -> pa.getStatus() == ACTIVE );
-    }
-
     private record Ina(Membered membered, List<String> idents) {    }
 }
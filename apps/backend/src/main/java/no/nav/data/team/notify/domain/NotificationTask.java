@@ -11,6 +11,7 @@ import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.team.notify.domain.Notification.NotificationChannel;
 import no.nav.data.team.notify.domain.Notification.NotificationTime;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +29,9 @@ public class NotificationTask implements DomainObject {
     private NotificationChannel channel;
     private List<AuditTarget> targets;
 
+    private int attempts;
+    private LocalDateTime nextAttempt;
+
     @Data
     @Builder
     @AllArgsConstructor
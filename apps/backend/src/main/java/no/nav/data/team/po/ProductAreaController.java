@@ -1,18 +1,24 @@
 package no.nav.data.team.po;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.TeamCatalogProps;
 import no.nav.data.common.exceptions.ValidationException;
 import no.nav.data.common.rest.RestResponsePage;
-import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.po.domain.ProductArea;
 import no.nav.data.team.po.dto.AddTeamsToProductAreaRequest;
 import no.nav.data.team.po.dto.ProductAreaRequest;
 import no.nav.data.team.po.dto.ProductAreaResponse;
+import no.nav.data.team.shared.CatalogFilter;
+import no.nav.data.team.shared.CatalogListing;
+import no.nav.data.team.shared.CatalogListing.ListParams;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,8 +35,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.Objects;
 import java.util.UUID;
 
-import static no.nav.data.common.utils.StreamUtils.convert;
-
 @Slf4j
 @RestController
 @RequestMapping("/productarea")
@@ -39,28 +43,31 @@ public class ProductAreaController {
 
     private final ProductAreaService service;
     private final TeamCatalogProps teamCatalogProps;
+    private final CatalogListing catalogListing;
 
-    public ProductAreaController(ProductAreaService service, TeamCatalogProps teamCatalogProps) {
+    public ProductAreaController(ProductAreaService service, TeamCatalogProps teamCatalogProps, CatalogListing catalogListing) {
         this.service = service;
         this.teamCatalogProps = teamCatalogProps;
+        this.catalogListing = catalogListing;
     }
 
-    @Operation(summary = "Get All ProductAreas")
-    @ApiResponse(description = "ok")
+    @Operation(summary = "Get All ProductAreas", description = "Paged in name order if cursor or limit is given, fields limits the properties of each product area")
+    @ApiResponse(description = "ok", content = @Content(schema = @Schema(implementation = ProductAreaPageResponse.class)))
     @GetMapping
-    public ResponseEntity<RestResponsePage<ProductAreaResponse>> getAll(
-            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus
+    public void getAll(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) String fields
     ) {
         log.info("Get all ProductAreas");
 
-        var po = service.getAll();
-
-        var queryStatusList = DomainObjectStatus.fromQueryParameter(stringStatus);
-
-        po = po.stream().filter(t -> queryStatusList.contains(t.getStatus())).toList();
-
-
-        return ResponseEntity.ok(new RestResponsePage<>(StreamUtils.convert(po, this::convertProductAreaToReponse)));
+        var filter = CatalogFilter.of(ProductArea.class).status(DomainObjectStatus.fromQueryParameter(stringStatus)).build();
+        var defaultProductAreaId = teamCatalogProps.getDefaultProductareaUuid();
+        catalogListing.write(ProductArea.class, filter, new ListParams(cursor, limit, fields), (pa, resources) -> pa.convertToResponse(defaultProductAreaId, resources),
+                request, response);
     }
 
     @Operation(summary = "Get ProductArea")
@@ -81,7 +88,7 @@ public class ProductAreaController {
         }
         var po = service.search(name);
         log.info("Returned {} po", po.size());
-        return new ResponseEntity<>(new RestResponsePage<>(convert(po,this::convertProductAreaToReponse)), HttpStatus.OK);
+        return new ResponseEntity<>(new RestResponsePage<>(ProductArea.convertToResponse(po, teamCatalogProps.getDefaultProductareaUuid())), HttpStatus.OK);
     }
 
     @Operation(summary = "Create ProductArea")
@@ -16,10 +16,10 @@ import static no.nav.data.common.utils.MetricUtils.QUERY;
 public interface ProductAreaRepository extends JpaRepository<GenericStorage, UUID> {
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ProductAreaRepository.findByNameLike"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike %?1% and type = 'ProductArea'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'ProductArea' and cp.name ilike %?1%", nativeQuery = true)
     List<GenericStorage> findByNameLike(String name);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ProductAreaRepository.findByName"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike ?1 and type = 'ProductArea'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'ProductArea' and cp.name ilike ?1", nativeQuery = true)
     List<GenericStorage> findByName(String name);
 }
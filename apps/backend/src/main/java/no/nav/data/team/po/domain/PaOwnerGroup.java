@@ -1,13 +1,19 @@
 package no.nav.data.team.po.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import no.nav.data.team.po.dto.PaOwnerGroupRequest;
 import no.nav.data.team.po.dto.PaOwnerGroupResponse;
 import no.nav.data.team.resource.NomClient;
 import no.nav.data.team.resource.dto.ResourceResponse;
+import no.nav.data.team.shared.domain.Member;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import static no.nav.data.common.utils.StreamUtils.convert;
 
 @Getter
 @Builder
@@ -26,33 +32,29 @@ public class PaOwnerGroup {
     }
 
     public PaOwnerGroupResponse convertToResponse() {
-        var builder = PaOwnerGroupResponse.builder();
-        var nomClient = NomClient.getInstance();
+        return convertToResponse(NomClient.getInstance().resolveAll(getNavIdents()));
+    }
 
+    public PaOwnerGroupResponse convertToResponse(Map<String, ResourceResponse> resources) {
+        return PaOwnerGroupResponse.builder()
+                .ownerResource(getOwnerNavId() != null ? Member.resourceResponse(resources, getOwnerNavId()) : null)
+                .ownerGroupMemberResourceList(convert(ownerGroupMemberNavIdList, navIdent -> Member.resourceResponse(resources, navIdent)))
+                .build();
+    }
 
-        if(getOwnerNavId() !=null) {
-            var ownerResourceOptional = nomClient.getByNavIdent(getOwnerNavId());
-            if (ownerResourceOptional.isPresent()) {
-                builder.ownerResource(ownerResourceOptional.get().convertToResponse());
-            } else {
-                builder.ownerResource(ResourceResponse.builder().navIdent(getOwnerNavId()).stale(true).build());
-            }
+    /**
+     * Owner and owner group member idents
+     */
+    @JsonIgnore
+    public List<String> getNavIdents() {
+        var idents = new ArrayList<String>();
+        if (getOwnerNavId() != null) {
+            idents.add(getOwnerNavId());
         }
-
-        var ownerMemberResourceResponses = ownerGroupMemberNavIdList.stream().map(
-                memberNavId -> {
-                    var optionalRes = nomClient.getByNavIdent(memberNavId);
-                    if (optionalRes.isPresent()) {
-                        return optionalRes.get().convertToResponse();
-                    } else {
-                        return ResourceResponse.builder().navIdent(memberNavId).stale(true).build();
-                    }
-                }
-        ).toList();
-
-        builder.ownerGroupMemberResourceList(ownerMemberResourceResponses);
-
-        return builder.build();
+        if (ownerGroupMemberNavIdList != null) {
+            idents.addAll(ownerGroupMemberNavIdList);
+        }
+        return idents;
     }
 
     public static PaOwnerGroup convertFromRequest(PaOwnerGroupRequest request) {
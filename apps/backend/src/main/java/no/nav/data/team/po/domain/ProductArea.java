@@ -1,5 +1,6 @@
 package no.nav.data.team.po.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,14 +10,17 @@ import no.nav.data.common.storage.domain.DomainObject;
 import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.po.dto.ProductAreaRequest;
 import no.nav.data.team.po.dto.ProductAreaResponse;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.shared.domain.HistorizedDomainObject;
 import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.shared.dto.Links;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static no.nav.data.common.utils.StreamUtils.copyOf;
@@ -64,7 +68,29 @@ public class ProductArea implements DomainObject, Membered, HistorizedDomainObje
         return this;
     }
 
+    @Override
+    @JsonIgnore
+    public List<String> getResourceIdents() {
+        var idents = new ArrayList<>(Membered.super.getResourceIdents());
+        if (productAreaOwnerGroup != null) {
+            idents.addAll(productAreaOwnerGroup.getNavIdents());
+        }
+        return idents;
+    }
+
     public ProductAreaResponse convertToResponse(String defaultProductAreaId) {
+        return convertToResponse(defaultProductAreaId, Membered.resolveResources(List.of(this)));
+    }
+
+    /**
+     * Convert a list of product areas, resolving the resources of all members and owner groups in one batch
+     */
+    public static List<ProductAreaResponse> convertToResponse(List<ProductArea> productAreas, String defaultProductAreaId) {
+        var resources = Membered.resolveResources(productAreas);
+        return StreamUtils.convert(productAreas, pa -> pa.convertToResponse(defaultProductAreaId, resources));
+    }
+
+    public ProductAreaResponse convertToResponse(String defaultProductAreaId, Map<String, ResourceResponse> resources) {
         return ProductAreaResponse.builder()
                 .id(id)
                 .name(name)
@@ -72,10 +98,10 @@ public class ProductArea implements DomainObject, Membered, HistorizedDomainObje
                 .description(description)
                 .slackChannel(slackChannel)
                 .tags(copyOf(tags))
-                .members(StreamUtils.convert(members, PaMember::convertToResponse))
+                .members(StreamUtils.convert(members, member -> member.convertToResponse(resources)))
                 .changeStamp(convertChangeStampResponse())
                 .links(Links.getFor(this))
-                .paOwnerGroup(this.productAreaOwnerGroup != null ? this.productAreaOwnerGroup.convertToResponse() : null)
+                .paOwnerGroup(this.productAreaOwnerGroup != null ? this.productAreaOwnerGroup.convertToResponse(resources) : null)
                 .status(status)
                 .isDefaultArea(this.id.toString().equals(defaultProductAreaId))
                 .build();
@@ -0,0 +1,168 @@
+package no.nav.data.team.resource;
+
+import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceType;
+import no.nav.data.team.resource.dto.ResourceResponse;
+import no.nav.data.team.shared.dto.Links;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact in-memory form of a {@link Resource}, used to hold all resources from nom.
+ * <p>
+ * Dates are stored as primitives, the resource type as an ordinal, and repeated strings (given names, resource types) are shared through a dictionary.
+ * Full name and email are only stored when they differ from what can be derived from the name, derived values are built on first read and kept.
+ * Reads are served by {@link #toResponse()}, {@link #toResource()} creates a new detached {@link Resource} and is only meant for ingest.
+ */
+final class CompactResource {
+
+    private static final byte NO_TYPE = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final ResourceType[] types = ResourceType.values();
+    private static final Map<String, String> dictionary = new ConcurrentHashMap<>();
+
+    private final long idMsb;
+    private final long idLsb;
+    private final int resourceHashCode;
+    private final int partition;
+    private final long offset;
+    private final long readTime;
+
+    private final String navIdent;
+    private final String givenName;
+    private final String familyName;
+    // derived values are set on first read, racing reads build equal strings
+    private String fullName;
+    private String email;
+    private final boolean fullNameDerived;
+    private final boolean emailDerived;
+    private final boolean onLeave;
+    private final byte resourceType;
+    private final String originalResourceType;
+    private final int startDate;
+    private final int endDate;
+
+    CompactResource(Resource resource) {
+        var id = resource.getId();
+        idMsb = id == null ? 0 : id.getMostSignificantBits();
+        idLsb = id == null ? 0 : id.getLeastSignificantBits();
+        resourceHashCode = resource.getResourceHashCode();
+        partition = resource.getPartition();
+        offset = resource.getOffset();
+        readTime = resource.getReadTime() == null ? 0 : resource.getReadTime().toInstant().toEpochMilli();
+
+        navIdent = resource.getNavIdent();
+        givenName = shared(resource.getGivenName());
+        familyName = resource.getFamilyName();
+        fullNameDerived = resource.getFullName() != null && resource.getFullName().equals(fullName(givenName, familyName));
+        fullName = fullNameDerived ? null : resource.getFullName();
+        emailDerived = resource.getEmail() != null && resource.getEmail().equals(email(givenName, familyName));
+        email = emailDerived ? null : resource.getEmail();
+        onLeave = resource.isOnLeave();
+        resourceType = resource.getResourceType() == null ? NO_TYPE : (byte) resource.getResourceType().ordinal();
+        originalResourceType = shared(resource.getOriginalResourceType());
+        startDate = epochDay(resource.getStartDate());
+        endDate = epochDay(resource.getEndDate());
+    }
+
+    String getNavIdent() {
+        return navIdent;
+    }
+
+    String getEmail() {
+        var value = email;
+        if (value == null && emailDerived) {
+            value = email(givenName, familyName);
+            email = value;
+        }
+        return value;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    int getPartition() {
+        return partition;
+    }
+
+    String getFullName() {
+        var value = fullName;
+        if (value == null && fullNameDerived) {
+            value = fullName(givenName, familyName);
+            fullName = value;
+        }
+        return value;
+    }
+
+    ResourceType getResourceType() {
+        return resourceType == NO_TYPE ? null : types[resourceType];
+    }
+
+    ResourceResponse toResponse() {
+        return ResourceResponse.builder()
+                .navIdent(navIdent)
+                .givenName(givenName)
+                .familyName(familyName)
+                .fullName(getFullName())
+                .email(getEmail())
+                .onLeave(onLeave)
+                .resourceType(getResourceType())
+                .startDate(localDate(startDate))
+                .endDate(localDate(endDate))
+                .links(Links.forResource(navIdent))
+                .build();
+    }
+
+    Resource toResource() {
+        return Resource.builder()
+                .id(idMsb == 0 && idLsb == 0 ? null : new UUID(idMsb, idLsb))
+                .resourceHashCode(resourceHashCode)
+                .partition(partition)
+                .offset(offset)
+                .readTime(readTime == 0 ? null : Instant.ofEpochMilli(readTime).atZone(ZoneId.systemDefault()))
+                .navIdent(navIdent)
+                .givenName(givenName)
+                .familyName(familyName)
+                .fullName(getFullName())
+                .email(getEmail())
+                .onLeave(onLeave)
+                .resourceType(getResourceType())
+                .originalResourceType(originalResourceType)
+                .startDate(localDate(startDate))
+                .endDate(localDate(endDate))
+                .build();
+    }
+
+    static void clearDictionary() {
+        dictionary.clear();
+    }
+
+    private static String shared(String s) {
+        return s == null ? null : dictionary.computeIfAbsent(s, k -> k);
+    }
+
+    private static String fullName(String givenName, String familyName) {
+        return givenName == null || familyName == null ? null : givenName + " " + familyName;
+    }
+
+    /**
+     * Most addresses are given.family@nav.no, lower case with spaces replaced
+     */
+    private static String email(String givenName, String familyName) {
+        return givenName == null || familyName == null ? null : (givenName + "." + familyName).toLowerCase().replace(' ', '.') + "@nav.no";
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    private static LocalDate localDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
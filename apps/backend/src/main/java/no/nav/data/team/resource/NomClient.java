@@ -3,6 +3,7 @@ package no.nav.data.team.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
+import io.prometheus.client.Summary;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.exceptions.TechnicalException;
@@ -10,12 +11,15 @@ import no.nav.data.common.rest.RestResponsePage;
 import no.nav.data.common.storage.StorageService;
 import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.common.utils.MetricUtils;
+import no.nav.data.common.web.CatalogVersion;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.resource.domain.Resource;
 import no.nav.data.team.resource.domain.ResourceEvent;
 import no.nav.data.team.resource.domain.ResourceEvent.EventType;
 import no.nav.data.team.resource.domain.ResourceRepository;
 import no.nav.data.team.resource.domain.ResourceType;
 import no.nav.data.team.resource.dto.NomRessurs;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.settings.SettingsService;
 import no.nav.data.team.settings.dto.Settings;
 import org.apache.commons.codec.language.DoubleMetaphone;
@@ -31,27 +35,36 @@ import org.apache.lucene.analysis.phonetic.DoubleMetaphoneFilter;
 import org.apache.lucene.analysis.standard.StandardTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.*;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MultiPhraseQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TermInSetQuery;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.store.ByteBuffersDirectory;
-import org.apache.lucene.store.Directory;
-import org.jetbrains.annotations.NotNull;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.groupingBy;
@@ -64,6 +77,7 @@ public class
 NomClient {
 
     private static final int MAX_SEARCH_RESULTS = 100;
+    private static final float MEMBER_BOOST = .5f;
 
     private static final Gauge gauge = MetricUtils.gauge()
             .name("nom_resources_gauge").help("Resources from nom indexed").register();
@@ -73,10 +87,38 @@ NomClient {
             .name("nom_resources_read_counter").help("Resource events processed").register();
     private static final Counter discardCounter = MetricUtils.counter()
             .name("nom_resources_discard_counter").help("Resource events discarded").register();
+    private static final Summary warmStartLatency = MetricUtils.summary()
+            .name("nom_resources_warm_start_summary").help("Time taken to restore resources from the database")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+    private static final Summary suggestLatency = MetricUtils.summary()
+            .name("nom_resources_suggest_summary").help("Time taken for resource suggestions")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+    private static final Summary searchLatency = MetricUtils.summary()
+            .name("nom_resources_search_summary").help("Time taken for resource searches")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+
+    // Ingest stages: decode, dedupe (NomListener), diff, index, persist
+    static final Summary stageLatency = MetricUtils.summary()
+            .labels("decode").labels("dedupe").labels("diff").labels("index").labels("persist")
+            .labelNames("stage")
+            .name("nom_resources_stage_summary").help("Time taken per resource ingest stage")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+    static final Counter stageCounter = MetricUtils.counter()
+            .labels("decode").labels("dedupe").labels("diff").labels("index").labels("persist")
+            .labelNames("stage")
+            .name("nom_resources_stage_counter").help("Resources passed through each ingest stage").register();
 
     private final StorageService storage;
     private final SettingsService settingsService;
     private final ResourceRepository resourceRepository;
+    private final MembershipIndex membershipIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile MemberBoost memberBoost = new MemberBoost(Set.of(), null);
+    private volatile boolean loaded;
 
     private static NomClient instance;
 
@@ -84,16 +126,14 @@ NomClient {
         return instance;
     }
 
-    public NomClient(StorageService storage, SettingsService settingsService, ResourceRepository resourceRepository) {
+    public NomClient(StorageService storage, SettingsService settingsService, ResourceRepository resourceRepository, MembershipIndex membershipIndex,
+            ApplicationEventPublisher eventPublisher, NomIngestProperties properties) {
         this.storage = storage;
         this.settingsService = settingsService;
         this.resourceRepository = resourceRepository;
-        // Initialize index
-        try (var writer = ResourceState.createWriter()) {
-            writer.commit();
-        } catch (Exception e) {
-            throw new TechnicalException("io error", e);
-        }
+        this.membershipIndex = membershipIndex;
+        this.eventPublisher = eventPublisher;
+        ResourceState.configureIndex(properties.getIndexRamBufferMb(), properties.getIndexSegmentsPerTier());
         instance = this;
     }
 
@@ -103,6 +143,26 @@ NomClient {
                 .filter(r -> shouldReturn(r.getNavIdent()));
     }
 
+    /**
+     * Batch version of {@link #getByNavIdent(String)}, idents not held in memory are read from the database in one query and marked stale.
+     *
+     * @return resources by upper case ident, idents not found or filtered are absent
+     */
+    public Map<String, ResourceResponse> resolveAll(Collection<String> navIdents) {
+        var idents = navIdents.stream().filter(Objects::nonNull).map(String::toUpperCase).filter(this::shouldReturn).collect(Collectors.toSet());
+        var resources = new HashMap<String, ResourceResponse>();
+        ResourceState.findAllResponses(idents).forEach(r -> resources.put(r.getNavIdent().toUpperCase(), r));
+        var missing = idents.stream().filter(ident -> !resources.containsKey(ident)).toList();
+        if (!missing.isEmpty()) {
+            resourceRepository.findByIdents(missing).stream()
+                    .map(GenericStorage::toResource)
+                    .map(Resource::stale)
+                    .map(Resource::convertToResponse)
+                    .forEach(r -> resources.putIfAbsent(r.getNavIdent().toUpperCase(), r));
+        }
+        return resources;
+    }
+
     public Optional<Resource> getByEmail(String email) {
         return ResourceState.getByEmail(email)
                 .filter(r -> shouldReturn(r.getNavIdent()));
@@ -115,49 +175,88 @@ NomClient {
                 .map(Resource::getFullName);
     }
 
-    @SneakyThrows
-    public RestResponsePage<Resource> search(String searchString) {
-
-        try (var reader = ResourceState.createReader()) {
-            IndexSearcher searcher = new IndexSearcher(reader);
-            var q = searchStringToCustomQuery(searchString, searcher);
-
-            var top = searcher.search(q, MAX_SEARCH_RESULTS, Sort.RELEVANCE);
-            log.debug("query '{}' hits {} returned {}", q.toString(), top.totalHits.value, top.scoreDocs.length);
-            List<Resource> list = Stream.of(top.scoreDocs)
-                    .map(sd -> getIdent(sd, searcher))
-                    .filter(this::shouldReturn)
-                    .map(navIdent -> getByNavIdent(navIdent).orElseThrow())
-
-                    // this is easier than adding "membership" fields to the lucene index that needs to be kept in sync
-                    .sorted(compareNavIdByMembershipStatus())
-                    .collect(Collectors.toList());
+    public RestResponsePage<ResourceResponse> search(String searchString) {
+        return search(searchString, null, null);
+    }
 
+    /**
+     * Filters and the settings ident filter are part of the query, so hit count and ranking include them.
+     * Members of teams, product areas or clusters rank higher.
+     *
+     * @param type   only resources of this type, if set
+     * @param active only active (true) or inactive (false) resources, if set
+     */
+    public RestResponsePage<ResourceResponse> search(String searchString, ResourceType type, Boolean active) {
+        var searcher = ResourceState.acquireSearcher();
+        try (var ignored = searchLatency.startTimer()) {
+            var q = new BooleanQuery.Builder().add(searchStringToCustomQuery(searchString, searcher), BooleanClause.Occur.MUST);
+            if (type != null) {
+                q.add(new TermQuery(new Term(ResourceState.FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER);
+            }
+            if (active != null) {
+                var activeQuery = LongPoint.newRangeQuery(ResourceState.FIELD_END_DATE, LocalDate.now().plusDays(1).toEpochDay(), Long.MAX_VALUE);
+                q.add(activeQuery, active ? BooleanClause.Occur.FILTER : BooleanClause.Occur.MUST_NOT);
+            }
+            var filtered = filteredIdents();
+            if (!filtered.isEmpty()) {
+                q.add(identQuery(filtered), BooleanClause.Occur.MUST_NOT);
+            }
+            var boost = memberBoost(membershipIndex.getMemberIdents());
+            if (boost.query() != null) {
+                q.add(boost.query(), BooleanClause.Occur.SHOULD);
+            }
+            var query = q.build();
 
+            var top = searcher.search(query, MAX_SEARCH_RESULTS, Sort.RELEVANCE);
+            log.debug("query '{}' hits {} returned {}", query, top.totalHits.value, top.scoreDocs.length);
+            var list = new ArrayList<ResourceResponse>(top.scoreDocs.length);
+            for (ScoreDoc sd : top.scoreDocs) {
+                ResourceState.getResponse(getIdent(sd, searcher)).ifPresent(list::add);
+            }
             return new RestResponsePage<>(list, top.totalHits.value);
         } catch (IOException e) {
             log.error("Failed to read lucene index", e);
             throw new TechnicalException("Failed to read lucene index", e);
+        } finally {
+            ResourceState.releaseSearcher(searcher);
         }
     }
 
-    @NotNull
+    /**
+     * Typeahead completion on names, for the full search see {@link #search(String)}
+     */
+    public List<ResourceResponse> suggest(String input, int limit) {
+        try (var ignored = suggestLatency.startTimer()) {
+            return ResourceState.findAllResponses(ResourceState.suggest(input, limit, this::shouldReturn));
+        }
+    }
 
-    // navIds associated with memberships should be valued higher
-    private Comparator<Resource> compareNavIdByMembershipStatus() {
-//        return (a, b) -> {
-//            var aIsMemberSomewhere = isMemberSomewhere(a.getNavIdent());
-//            var bIsMemberSomewhere = isMemberSomewhere(b.getNavIdent());
-//            if (aIsMemberSomewhere == bIsMemberSomewhere) return 0;
-//            return (aIsMemberSomewhere) ? -1 : 1;
-//        };
-        return (a,b) -> 0;
+    private Collection<String> filteredIdents() {
+        Settings settings = settingsService.getSettingsCached();
+        // null only for tests
+        return settings == null || settings.getIdentFilter() == null ? List.of() : settings.getIdentFilter();
+    }
+
+    /**
+     * The boost query is only rebuilt when the set of member idents changes
+     */
+    private MemberBoost memberBoost(Set<String> members) {
+        var current = memberBoost;
+        if (current.idents() == members) {
+            return current;
+        }
+        if (current.idents().equals(members)) {
+            current = new MemberBoost(members, current.query());
+        } else {
+            var query = members.isEmpty() ? null : new BoostQuery(new ConstantScoreQuery(identQuery(members)), MEMBER_BOOST);
+            current = new MemberBoost(members, query);
+        }
+        memberBoost = current;
+        return current;
     }
 
-    private Boolean isMemberSomewhere(String navIdent) {
-        // TODO, consult team and area memberships
-        var rand = new Random(navIdent.hashCode());
-        return rand.nextBoolean();
+    private static Query identQuery(Collection<String> idents) {
+        return new TermInSetQuery(ResourceState.FIELD_IDENT, convert(idents, ident -> new BytesRef(ident.toLowerCase())));
     }
 
     @SneakyThrows
@@ -226,56 +325,142 @@ NomClient {
     }
 
 
-    public List<Resource> add(List<NomRessurs> nomResources) {
-        if (count() == 0) { // State er tom == Startup => re-laste ResourceState fra basen
-            storage.getAll(Resource.class).forEach( r -> {
-                    if (r.getNavIdent().equals("M166609")) log.debug("Adding M166609 to repo");
-                    ResourceState.put(r);
+    /**
+     * Restores resources and the search index from the database if state is empty.
+     * Stored resources carry the kafka partition and offset they were read from, so consumption can resume from there.
+     *
+     * @return next offset to consume per partition
+     */
+    public Map<Integer, Long> warmStart() {
+        ensureLoaded();
+        return ResourceState.nextOffsets();
+    }
+
+    /**
+     * Consumer threads block here until state is restored, once loaded no lock is taken
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                if (count() == 0) {
+                    loadFromDatabase();
                 }
-            );
-        }
-        try {
-            var toSave = new ArrayList<Resource>();
-            try (var writer = ResourceState.createWriter()) {
-                Map<String, Resource> existingState = ResourceState.findAll(convert(nomResources, NomRessurs::getNavident)).stream().collect(Collectors.toMap(r -> r.getNavIdent(), r -> r));
-                for (NomRessurs nomResource : nomResources) {
-                    var resource = new Resource(nomResource);
-                    ResourceStatus status = shouldSave(existingState, resource);
-                    if (status.shouldSave) {
-                        toSave.add(resource);
-                        if (status.previous != null) {
-                            checkEvents(status.previous, resource);
-                        }
-                        ResourceState.put(resource);
-                    }
-
-                    var luceneIdent = resource.getNavIdent().toLowerCase();
-                    var identTerm = new Term(ResourceState.FIELD_IDENT, luceneIdent);
-                    if (resource.getResourceType() == ResourceType.OTHER) {
-                        // Other resource types shouldn't be searchable, they should not ordinarily be a part of teams
-                        writer.deleteDocuments(identTerm);
-                        discardCounter.inc();
-                        continue;
-                    }
-                    Document doc = new Document();
-                    String name = resource.getGivenName() + " " + resource.getFamilyName();
-                    doc.add(new TextField(ResourceState.FIELD_NAME_VERBATIM, name, Store.NO));
-                    doc.add(new TextField(ResourceState.FIELD_NAME_NGRAMS, name, Store.NO));
-                    doc.add(new TextField(ResourceState.FIELD_NAME_PHONETIC, name, Store.NO));
-
-                    doc.add(new TextField(ResourceState.FIELD_IDENT, luceneIdent, Store.YES));
-
-                    writer.updateDocument(identTerm, doc);
-                    counter.inc();
+                loaded = true;
+            }
+        }
+    }
+
+    private void loadFromDatabase() {
+        var start = System.nanoTime();
+        try (var ignored = warmStartLatency.startTimer()) {
+            var resources = storage.getAll(Resource.class);
+            var writer = ResourceState.getWriter();
+            for (Resource resource : resources) {
+                if (ResourceState.getOffset(resource.getNavIdent()) >= resource.getOffset()) {
+                    continue;
                 }
-                storage.saveAll(toSave);
+                ResourceState.put(resource);
+                index(writer, resource);
             }
-            gauge.set(count());
-            return toSave;
+            ResourceState.refreshSearcher();
+        } catch (IOException e) {
+            log.error("Failed to write to index", e);
+            throw new TechnicalException("Lucene error", e);
+        }
+        gauge.set(count());
+        eventPublisher.publishEvent(new ResourcesChangedEvent(List.of()));
+        CatalogVersion.resourcesChanged(ResourceState.position());
+        log.info("Loaded {} resources from database in {} ms", count(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Runs the diff, index and persist stages of resource ingest. Called concurrently from the consumer threads, each with their own partitions.
+     *
+     * @return resources that were new or changed
+     */
+    public List<Resource> add(List<NomRessurs> nomResources) {
+        ensureLoaded();
+        var resources = convert(nomResources, Resource::new);
+        List<Resource> toSave;
+        try (var ignored = stageLatency.labels("diff").startTimer()) {
+            toSave = diff(resources);
+            stageCounter.labels("diff").inc(resources.size());
+        }
+        try (var ignored = stageLatency.labels("index").startTimer()) {
+            index(resources);
+            stageCounter.labels("index").inc(resources.size());
         } catch (IOException e) {
             log.error("Failed to write to index", e);
             throw new TechnicalException("Lucene error", e);
         }
+        try (var ignored = stageLatency.labels("persist").startTimer()) {
+            resourceRepository.upsert(toSave);
+            stageCounter.labels("persist").inc(toSave.size());
+        }
+        gauge.set(count());
+        if (!toSave.isEmpty()) {
+            eventPublisher.publishEvent(new ResourcesChangedEvent(convert(toSave, Resource::getNavIdent)));
+            CatalogVersion.resourcesChanged(ResourceState.position());
+        }
+        return toSave;
+    }
+
+    private List<Resource> diff(List<Resource> resources) {
+        var toSave = new ArrayList<Resource>();
+        Map<String, Resource> existingState = ResourceState.findAll(convert(resources, Resource::getNavIdent)).stream().collect(Collectors.toMap(r -> r.getNavIdent(), r -> r));
+        for (Resource resource : resources) {
+            ResourceStatus status = shouldSave(existingState, resource);
+            if (status.shouldSave) {
+                toSave.add(resource);
+                if (status.previous != null) {
+                    // stored as one row per ident
+                    resource.setId(status.previous.getId());
+                    checkEvents(status.previous, resource);
+                }
+                ResourceState.put(resource);
+            }
+            if (resource.getResourceType() == ResourceType.OTHER) {
+                discardCounter.inc();
+            } else {
+                counter.inc();
+            }
+        }
+        return toSave;
+    }
+
+    private void index(List<Resource> resources) throws IOException {
+        var writer = ResourceState.getWriter();
+        for (Resource resource : resources) {
+            index(writer, resource);
+        }
+        ResourceState.refreshSearcher();
+    }
+
+    private void index(IndexWriter writer, Resource resource) throws IOException {
+        var luceneIdent = resource.getNavIdent().toLowerCase();
+        var identTerm = new Term(ResourceState.FIELD_IDENT, luceneIdent);
+        if (resource.getResourceType() == ResourceType.OTHER) {
+            // Other resource types shouldn't be searchable, they should not ordinarily be a part of teams
+            writer.deleteDocuments(identTerm);
+            return;
+        }
+        Document doc = new Document();
+        String name = resource.getGivenName() + " " + resource.getFamilyName();
+        doc.add(new TextField(ResourceState.FIELD_NAME_VERBATIM, name, Store.NO));
+        doc.add(new TextField(ResourceState.FIELD_NAME_NGRAMS, name, Store.NO));
+        doc.add(new TextField(ResourceState.FIELD_NAME_PHONETIC, name, Store.NO));
+
+        doc.add(new TextField(ResourceState.FIELD_IDENT, luceneIdent, Store.NO));
+        doc.add(new SortedDocValuesField(ResourceState.FIELD_IDENT_VALUE, new BytesRef(luceneIdent)));
+        if (resource.getResourceType() != null) {
+            doc.add(new StringField(ResourceState.FIELD_TYPE, resource.getResourceType().name(), Store.NO));
+        }
+        doc.add(new LongPoint(ResourceState.FIELD_END_DATE, resource.getEndDate() == null ? Long.MAX_VALUE : resource.getEndDate().toEpochDay()));
+
+        writer.updateDocument(identTerm, doc);
     }
 
     private ResourceStatus shouldSave(Map<String, Resource> existing, Resource resource) {
@@ -329,6 +514,9 @@ NomClient {
 
     public void clear() {
         ResourceState.clear();
+        loaded = false;
+        eventPublisher.publishEvent(new ResourcesChangedEvent(List.of()));
+        CatalogVersion.resourcesChanged(ResourceState.position());
     }
 
     @Scheduled(initialDelayString = "PT1M", fixedRateString = "PT1M")
@@ -337,17 +525,14 @@ NomClient {
         dbGauge.set(countDb());
     }
 
-    @Scheduled(initialDelayString = "PT10M", fixedRateString = "PT10M")
-    public void cleanup() {
-        resourceRepository.cleanup();
-    }
-
-    private String getIdent(ScoreDoc sd, IndexSearcher searcher) {
-        try {
-            return searcher.doc(sd.doc).get(ResourceState.FIELD_IDENT);
-        } catch (Exception e) {
-            throw new TechnicalException("io error", e);
+    private static String getIdent(ScoreDoc sd, IndexSearcher searcher) throws IOException {
+        var leaves = searcher.getIndexReader().leaves();
+        var leaf = leaves.get(ReaderUtil.subIndex(sd.doc, leaves));
+        var values = DocValues.getSorted(leaf.reader(), ResourceState.FIELD_IDENT_VALUE);
+        if (!values.advanceExact(sd.doc - leaf.docBase)) {
+            throw new TechnicalException("resource document without ident " + sd.doc);
         }
+        return values.lookupOrd(values.ordValue()).utf8ToString();
     }
 
     private boolean shouldReturn(String navIdent) {
@@ -360,6 +545,10 @@ NomClient {
 
     }
 
+    private record MemberBoost(Set<String> idents, Query query) {
+
+    }
+
     private static class ResourceState {
 
         static final String FIELD_IDENT = "ident";
@@ -367,56 +556,178 @@ NomClient {
         static final String FIELD_NAME_NGRAMS = "name_ngrams";
         static final String FIELD_NAME_PHONETIC = "name_phonetic";
 
-        private static final Map<String, Resource> allResources = new HashMap<>(1 << 15);
-        private static final Map<String, Resource> allResourcesByMail = new HashMap<>(1 << 15);
-        private static Directory index = new ByteBuffersDirectory();
+        static final String FIELD_IDENT_VALUE = "ident_value";
+        static final String FIELD_TYPE = "type";
+        // epoch day, resources without end date have Long.MAX_VALUE
+        static final String FIELD_END_DATE = "end_date";
+
+        private static final Gauge lastRefresh = MetricUtils.gauge()
+                .name("nom_resources_index_refreshed_gauge").help("Time of last resource searcher refresh, lag is time() - value").register();
+        private static final Summary refreshLatency = MetricUtils.summary()
+                .name("nom_resources_index_refresh_summary").help("Time taken to refresh the resource searcher")
+                .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+                .register();
+
+        // Written by the kafka listener threads, read by web threads
+        private static final Map<String, CompactResource> allResources = new ConcurrentHashMap<>(1 << 15);
+        // email -> ident
+        private static final Map<String, String> allResourcesByMail = new ConcurrentHashMap<>(1 << 15);
+        private static final ResourceSuggester suggester = new ResourceSuggester();
+        // partition -> highest offset of a changed resource, the same on every instance that has read up to it
+        private static final Map<Integer, Long> changedOffsets = new ConcurrentHashMap<>();
         private static final PerFieldAnalyzerWrapper analyzer;
+        // Flushed segments are searchable through the near-real-time searcher without commits, see NomIngestProperties
+        private static double ramBufferMb = 32;
+        private static double segmentsPerTier = 5;
+
+        private static IndexWriter writer;
+        private static SearcherManager searcherManager;
 
         static {
             var analyzerPerField = new HashMap<String, Analyzer>();
             analyzerPerField.put(FIELD_NAME_NGRAMS, createNGramAnalyzer());
             analyzerPerField.put(FIELD_NAME_PHONETIC, createMetaphoneAnalyzer());
             analyzer = new PerFieldAnalyzerWrapper(createSimpleIgnoreCaseAnalyzer(), analyzerPerField);
+            initIndex();
         }
 
         static Optional<Resource> get(String ident) {
-            return Optional.ofNullable(allResources.get(ident.toUpperCase()));
+            return Optional.ofNullable(allResources.get(ident.toUpperCase())).map(CompactResource::toResource);
+        }
+
+        static List<Resource> findAll(Collection<String> idents) {
+            return idents.stream()
+                    .map(ident -> allResources.get(ident.toUpperCase()))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(CompactResource::toResource)
+                    .toList();
+        }
+
+        static Optional<ResourceResponse> getResponse(String ident) {
+            return Optional.ofNullable(allResources.get(ident.toUpperCase())).map(CompactResource::toResponse);
         }
 
-        static List<Resource> findAll(List<String> idents) {
-            return allResources.values().stream().filter(r -> idents.contains(r.getNavIdent())).toList();
+        static List<ResourceResponse> findAllResponses(Collection<String> idents) {
+            return idents.stream()
+                    .map(ident -> allResources.get(ident.toUpperCase()))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(CompactResource::toResponse)
+                    .toList();
         }
 
         static Optional<Resource> getByEmail(String email) {
-            return Optional.ofNullable(allResourcesByMail.get(email.toLowerCase()));
+            return Optional.ofNullable(allResourcesByMail.get(email.toLowerCase())).flatMap(ResourceState::get);
+        }
+
+        /**
+         * Offset of the stored resource, -1 if none
+         */
+        static long getOffset(String ident) {
+            var resource = allResources.get(ident.toUpperCase());
+            return resource == null ? -1 : resource.getOffset();
         }
 
         static void put(Resource resource) {
-            allResources.put(resource.getNavIdent().toUpperCase(), resource);
+            var ident = resource.getNavIdent().toUpperCase();
+            var previous = allResources.put(ident, new CompactResource(resource));
+            if (previous != null && previous.getEmail() != null) {
+                allResourcesByMail.remove(previous.getEmail().toLowerCase(), ident);
+            }
             if (resource.getEmail() != null) {
-                allResourcesByMail.put(resource.getEmail().toLowerCase(), resource);
+                allResourcesByMail.put(resource.getEmail().toLowerCase(), ident);
             }
+            suggester.put(resource);
+            changedOffsets.merge(resource.getPartition(), resource.getOffset(), Math::max);
+        }
+
+        /**
+         * Ingest position of the changed resources, 0 when none are held
+         */
+        static long position() {
+            return changedOffsets.values().stream().mapToLong(offset -> offset + 1).sum();
+        }
+
+        static List<String> suggest(String input, int limit, Predicate<String> filter) {
+            return suggester.suggest(input, limit, filter);
         }
 
         static int count() {
             return allResources.size();
         }
 
+        static Map<Integer, Long> nextOffsets() {
+            return allResources.values().stream()
+                    .collect(Collectors.toMap(CompactResource::getPartition, r -> r.getOffset() + 1, Math::max));
+        }
+
         static void clear() {
-            index = new ByteBuffersDirectory();
+            initIndex();
             allResources.clear();
             allResourcesByMail.clear();
+            suggester.clear();
+            changedOffsets.clear();
+            CompactResource.clearDictionary();
         }
 
+        /**
+         * Searchers are shared between requests, and must be released after use
+         */
         @SneakyThrows
-        static IndexReader createReader() {
-            return DirectoryReader.open(index);
+        static IndexSearcher acquireSearcher() {
+            return searcherManager.acquire();
         }
 
         @SneakyThrows
-        static IndexWriter createWriter() {
-            IndexWriterConfig writerConfig = new IndexWriterConfig(getAnalyzer());
-            return new IndexWriter(index, writerConfig);
+        static void releaseSearcher(IndexSearcher searcher) {
+            searcherManager.release(searcher);
+        }
+
+        /**
+         * Make changes from the writer visible to new searches, without committing
+         */
+        @SneakyThrows
+        static void refreshSearcher() {
+            try (var ignored = refreshLatency.startTimer()) {
+                searcherManager.maybeRefreshBlocking();
+            }
+            lastRefresh.setToCurrentTime();
+        }
+
+        /**
+         * Applied to the current writer without dropping indexed resources, and used by later {@link #initIndex()}
+         */
+        static synchronized void configureIndex(double ramBufferMb, double segmentsPerTier) {
+            ResourceState.ramBufferMb = ramBufferMb;
+            ResourceState.segmentsPerTier = segmentsPerTier;
+            writer.getConfig()
+                    .setRAMBufferSizeMB(ramBufferMb)
+                    .setMergePolicy(new TieredMergePolicy().setSegmentsPerTier(segmentsPerTier));
+        }
+
+        @SneakyThrows
+        private static synchronized void initIndex() {
+            var newWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer)
+                    .setRAMBufferSizeMB(ramBufferMb)
+                    .setMergePolicy(new TieredMergePolicy().setSegmentsPerTier(segmentsPerTier))
+                    .setCommitOnClose(false));
+            var previousManager = searcherManager;
+            var previousWriter = writer;
+            writer = newWriter;
+            searcherManager = new SearcherManager(newWriter, null);
+            lastRefresh.setToCurrentTime();
+            if (previousManager != null) {
+                previousManager.close();
+                previousWriter.close();
+            }
+        }
+
+        /**
+         * Shared by all consumer threads, IndexWriter is thread safe
+         */
+        static IndexWriter getWriter() {
+            return writer;
         }
 
         static Analyzer getAnalyzer() {
@@ -0,0 +1,35 @@
+package no.nav.data.team.resource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "kafka.nom-ingest")
+public class NomIngestProperties {
+
+    /**
+     * Consumer threads, partitions are divided between them
+     */
+    private int concurrency = 3;
+    /**
+     * Total consumer lag accepted before the app reports ready
+     */
+    private long readyMaxLag = 100;
+    /**
+     * Report ready after this long even if ingest has not caught up, so a kafka outage does not keep the app out of service
+     */
+    private Duration readyMaxWait = Duration.ofMinutes(10);
+    /**
+     * Search index buffer before a segment is flushed, flushed segments are searchable without commits
+     */
+    private double indexRamBufferMb = 32;
+    /**
+     * Segments per tier of the search index merge policy, lower merges more often for faster searches
+     */
+    private double indexSegmentsPerTier = 5;
+
+}
@@ -0,0 +1,97 @@
+package no.nav.data.team.resource;
+
+import io.prometheus.client.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import no.nav.data.common.utils.MetricUtils;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks whether resource ingest from kafka has caught up: state restored from the database and consumer lag below the threshold.
+ * Once caught up the app stays ready, later lag spikes are only reported as metrics.
+ */
+@Slf4j
+@Component
+public class NomIngestStatus {
+
+    private static final Gauge lagGauge = MetricUtils.gauge()
+            .labelNames("partition")
+            .name("nom_resources_lag_gauge").help("Consumer lag per partition for nom resources").register();
+    private static final Gauge warmupGauge = MetricUtils.gauge()
+            .name("nom_resources_warmup_gauge").help("Seconds from start until resource ingest caught up").register();
+
+    private final NomIngestProperties properties;
+    private final long started = System.nanoTime();
+    private final Map<TopicPartition, Long> lag = new ConcurrentHashMap<>();
+
+    private volatile boolean restored;
+    private volatile boolean caughtUp;
+
+    public NomIngestStatus(NomIngestProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isReady() {
+        if (caughtUp) {
+            return true;
+        }
+        if (sinceStart().compareTo(properties.getReadyMaxWait()) > 0) {
+            log.warn("Resource ingest has not caught up after {}, reporting ready. lag {}", properties.getReadyMaxWait(), lag);
+            markCaughtUp();
+        }
+        return caughtUp;
+    }
+
+    void restored() {
+        restored = true;
+    }
+
+    /**
+     * Must be called on the consumer thread. Each consumer reports lag for its own partitions,
+     * ingest has caught up when lag is known for all partitions of the topic.
+     */
+    void updateLag(Consumer<?, ?> consumer) {
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong partitionLag = consumer.currentLag(partition);
+            if (partitionLag.isPresent()) {
+                lag.put(partition, partitionLag.getAsLong());
+                lagGauge.labels(String.valueOf(partition.partition())).set(partitionLag.getAsLong());
+            }
+        }
+        if (caughtUp || !restored || lag.isEmpty()) {
+            return;
+        }
+        var allPartitions = lag.keySet().stream().map(TopicPartition::topic).distinct()
+                .flatMap(topic -> consumer.partitionsFor(topic).stream())
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        if (lag.keySet().containsAll(allPartitions) && lag.values().stream().mapToLong(Long::longValue).sum() <= properties.getReadyMaxLag()) {
+            log.info("Resource ingest caught up after {}, lag {}", sinceStart(), lag);
+            markCaughtUp();
+        }
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (event.getConsumer() != null) {
+            updateLag(event.getConsumer());
+        }
+    }
+
+    private void markCaughtUp() {
+        caughtUp = true;
+        warmupGauge.set(sinceStart().toMillis() / 1000.0);
+    }
+
+    private Duration sinceStart() {
+        return Duration.ofNanos(System.nanoTime() - started);
+    }
+}
@@ -2,37 +2,63 @@ package no.nav.data.team.resource;
 
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.utils.JsonUtils;
-import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.resource.dto.NomRessurs;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
-import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchAcknowledgingConsumerAwareMessageListener;
 import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
-public class NomListener implements ConsumerSeekAware, BatchAcknowledgingMessageListener<String, String> {
+public class NomListener implements ConsumerSeekAware, BatchAcknowledgingConsumerAwareMessageListener<String, String> {
 
     private final NomClient nomClient;
+    private final NomIngestStatus ingestStatus;
 
-    public NomListener(NomClient nomClient) {
+    public NomListener(NomClient nomClient, NomIngestStatus ingestStatus) {
         this.nomClient = nomClient;
+        this.ingestStatus = ingestStatus;
     }
 
+    /**
+     * Resume from the offsets of the resources already stored, partitions without stored resources are read from the beginning
+     */
     @Override
     public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
-        assignments.keySet().forEach(p -> callback.seekToBeginning(p.topic(), p.partition()));
+        var offsets = nomClient.warmStart();
+        ingestStatus.restored();
+        assignments.keySet().forEach(p -> {
+            var offset = offsets.get(p.partition());
+            if (offset == null) {
+                callback.seekToBeginning(p.topic(), p.partition());
+            } else {
+                log.info("Resuming partition {} from offset {}", p.partition(), offset);
+                callback.seek(p.topic(), p.partition(), offset);
+            }
+        });
     }
 
     @Override
-    public void onMessage(List<ConsumerRecord<String, String>> data, Acknowledgment acknowledgment) {
+    public void onMessage(List<ConsumerRecord<String, String>> data, Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
         try {
-            var resources = new ArrayList<NomRessurs>();
+            nomClient.add(dedupe(decode(data)));
+        } catch (Exception e) {
+            log.error("Failed to write nom ressurs", e);
+            throw e;
+        }
+        acknowledgment.acknowledge();
+        ingestStatus.updateLag(consumer);
+    }
+
+    private List<NomRessurs> decode(List<ConsumerRecord<String, String>> data) {
+        try (var ignored = NomClient.stageLatency.labels("decode").startTimer()) {
+            var resources = new ArrayList<NomRessurs>(data.size());
             for (ConsumerRecord<String, String> record : data) {
                 NomRessurs nomRessurs = JsonUtils.toObject(record.value(), NomRessurs.class);
                 if (nomRessurs.getNavident() == null) {
@@ -41,30 +67,26 @@ public class NomListener implements ConsumerSeekAware, BatchAcknowledgingMessage
                     resources.add(nomRessurs.addKafkaData(record.partition(), record.offset()));
                 }
             }
-            {
-                // temporary diagnostics logging
-                var offsets = resources.stream().map(NomRessurs::getOffset).toList();
-                var entriesPerNavident = new HashMap<String,Integer>(resources.size()/2);
-                for(var r : resources){
-                    var prev = entriesPerNavident.get(r.getNavident());
-                    entriesPerNavident.put(r.getNavident(), prev == null ? 1 : prev + 1);
-                }
-                var counts = StreamUtils.distinctByKey(entriesPerNavident.values(),it -> it);
+            NomClient.stageCounter.labels("decode").inc(data.size());
+            return resources;
+        }
+    }
 
-                var inOrder = true;
-                for(var i = 1; i < offsets.size(); i += 1){
-                    inOrder &= offsets.get(i-1) < offsets.get(i);
-                }
-                log.info("Kafka messages count: {}", data.size());
-                log.info("Resources are ordered by offset? -> {}", inOrder );
-                log.info("Distinct duplicate amounts in resources from kafka -> {}", counts);
+    /**
+     * A batch can contain several versions of a resource, only the one with the highest offset is kept
+     */
+    private List<NomRessurs> dedupe(List<NomRessurs> resources) {
+        try (var ignored = NomClient.stageLatency.labels("dedupe").startTimer()) {
+            var newest = new LinkedHashMap<String, NomRessurs>(resources.size());
+            for (NomRessurs resource : resources) {
+                newest.merge(resource.getNavident(), resource, (a, b) -> b.getOffset() > a.getOffset() ? b : a);
             }
-            nomClient.add(resources);
-        } catch (Exception e) {
-            log.error("Failed to write nom ressurs", e);
-            throw e;
+            NomClient.stageCounter.labels("dedupe").inc(resources.size());
+            if (newest.size() < resources.size()) {
+                log.debug("Deduplicated batch of {} resources to {}", resources.size(), newest.size());
+            }
+            return List.copyOf(newest.values());
         }
-        acknowledgment.acknowledge();
     }
 
 }
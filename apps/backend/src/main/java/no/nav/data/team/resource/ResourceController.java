@@ -1,17 +1,22 @@
 package no.nav.data.team.resource;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.common.exceptions.ValidationException;
 import no.nav.data.common.rest.RestResponsePage;
+import no.nav.data.common.rest.StreamingJson;
 import no.nav.data.common.security.SecurityUtils;
 import no.nav.data.common.security.dto.UserInfo;
 import no.nav.data.common.validator.Validator;
 import no.nav.data.team.naisteam.NaisConsoleClient;
-import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceType;
 import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.resource.dto.ResourceUnitsResponse;
 import org.apache.commons.lang3.StringUtils;
@@ -28,12 +33,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toList;
-
 @Slf4j
 @RestController
 @RequestMapping("/resource")
@@ -41,6 +44,8 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class ResourceController {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final NomClient nomClient;
     private final NomGraphClient nomGraphClient;
     private final ResourceService resourceService;
@@ -49,16 +54,33 @@ public class ResourceController {
     @Operation(summary = "Search resources")
     @ApiResponse(description = "Resources fetched")
     @GetMapping("/search/{name}")
-    public ResponseEntity<RestResponsePage<ResourceResponse>> searchResourceName(@PathVariable String name) {
+    public ResponseEntity<RestResponsePage<ResourceResponse>> searchResourceName(
+            @PathVariable String name,
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) Boolean active
+    ) {
         log.info("Resource search '{}'", name);
         if (Stream.of(name.split(" ")).sorted().distinct().collect(Collectors.joining("")).length() < 3) {
             throw new ValidationException("Search resource must be at least 3 characters");
         }
-        var resources = nomClient.search(name);
+        var resources = nomClient.search(name, type, active);
         log.info("Returned {} resources", resources.getPageSize());
-        return new ResponseEntity<>(resources.convert(Resource::convertToResponse), HttpStatus.OK);
+        return new ResponseEntity<>(resources, HttpStatus.OK);
     }
 
+    @Operation(summary = "Suggest resources by name, for typeahead")
+    @ApiResponse(description = "Resources fetched")
+    @GetMapping("/suggest")
+    public ResponseEntity<RestResponsePage<ResourceResponse>> suggest(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        var resources = nomClient.suggest(name, limit);
+        return ResponseEntity.ok(new RestResponsePage<>(resources));
+    }
 
     @Operation(summary = "Get Resource")
     @ApiResponse(description = "ok")
@@ -93,18 +115,17 @@ public class ResourceController {
     }
 
     @Operation(summary = "Get Resources")
-    @ApiResponse(description = "ok")
+    @ApiResponse(description = "ok", content = @Content(schema = @Schema(implementation = ResourcePageResponse.class)))
     @PostMapping("/multi")
-    public ResponseEntity<RestResponsePage<ResourceResponse>> getById(@RequestBody List<String> ids) {
-        log.info("Resource get ids={}", ids);
+    public void getById(@RequestBody List<String> ids, HttpServletRequest request, HttpServletResponse response) {
+        log.info("Resource get {} ids", ids.size());
 
+        var resolved = nomClient.resolveAll(ids);
         var resources = ids.stream()
-                .map(nomClient::getByNavIdent)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(Resource::convertToResponse)
-                .collect(toList());
-        return ResponseEntity.ok(new RestResponsePage<>(resources));
+                .filter(Objects::nonNull)
+                .map(id -> resolved.get(id.toUpperCase()))
+                .filter(Objects::nonNull);
+        StreamingJson.writePage(resources, request, response);
     }
 
     @Operation(summary = "Get Resource Photo")
@@ -0,0 +1,226 @@
+package no.nav.data.team.resource;
+
+import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceType;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Prefix completion on resource names, any word of the name can be completed.
+ * If there are too few prefix matches, words one edit away from the typed prefix are also completed.
+ * <p>
+ * Kept up to date on each write, independent of the search index, so lookups only walk the sorted terms starting with the typed prefix.
+ */
+class ResourceSuggester {
+
+    // a single letter completes to a large share of all names
+    private static final int MIN_PREFIX_LENGTH = 2;
+    // shorter words are one edit away from too many names
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_FUZZY = 2;
+    private static final Comparator<Candidate> ranking = Comparator.comparingInt(Candidate::rank)
+            .thenComparingInt(c -> c.suggestion().name().length())
+            .thenComparing(c -> c.suggestion().name());
+
+    // term -> idents
+    private final NavigableMap<String, Set<String>> terms = new ConcurrentSkipListMap<>();
+    // ident -> suggestion
+    private final Map<String, Suggestion> suggestions = new ConcurrentHashMap<>();
+
+    record Suggestion(String ident, String name, String[] terms) {
+
+    }
+
+    private record Candidate(Suggestion suggestion, int rank) {
+
+    }
+
+    void put(Resource resource) {
+        remove(resource.getNavIdent());
+        if (resource.getResourceType() == ResourceType.OTHER) {
+            return;
+        }
+        var name = resource.getGivenName() + " " + resource.getFamilyName();
+        var suggestion = new Suggestion(resource.getNavIdent(), name, terms(name));
+        suggestions.put(suggestion.ident(), suggestion);
+        for (String term : suggestion.terms()) {
+            terms.computeIfAbsent(term, k -> ConcurrentHashMap.newKeySet()).add(suggestion.ident());
+        }
+    }
+
+    void clear() {
+        terms.clear();
+        suggestions.clear();
+    }
+
+    /**
+     * All words of the input must be a prefix of a word in the name.
+     * Names where a word is matched exactly rank first, then prefix matches, then matches one edit away, shorter names first within each.
+     * Fuzzy matches are only looked up when there are fewer than limit prefix matches, and assume the first letter is typed correctly.
+     * Nothing is suggested until one of the words is at least {@value #MIN_PREFIX_LENGTH} letters.
+     *
+     * @return idents of the best matches
+     */
+    List<String> suggest(String input, int limit, Predicate<String> filter) {
+        var inputTerms = terms(input);
+        if (inputTerms.length == 0) {
+            return List.of();
+        }
+        // the longest word has the fewest completions
+        var longest = Arrays.stream(inputTerms).max(Comparator.comparingInt(String::length)).orElseThrow();
+        if (longest.length() < MIN_PREFIX_LENGTH) {
+            return List.of();
+        }
+
+        // worst candidate at the head, so all candidates are ranked with at most limit kept
+        var top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        var matched = new HashSet<String>();
+        var checked = new HashSet<String>();
+        for (Set<String> idents : terms.subMap(longest, true, longest + Character.MAX_VALUE, false).values()) {
+            for (String ident : idents) {
+                var suggestion = suggestions.get(ident);
+                if (suggestion != null && checked.add(ident) && matchesAll(suggestion, inputTerms, false) && filter.test(ident)) {
+                    matched.add(ident);
+                    offer(top, new Candidate(suggestion, exactMatch(suggestion, inputTerms) ? RANK_EXACT : RANK_PREFIX), limit);
+                }
+            }
+        }
+        if (top.size() < limit && longest.length() >= MIN_FUZZY_LENGTH) {
+            checked.clear();
+            var first = longest.substring(0, 1);
+            for (var entry : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                if (!oneEditPrefix(entry.getKey(), longest)) {
+                    continue;
+                }
+                for (String ident : entry.getValue()) {
+                    var suggestion = suggestions.get(ident);
+                    if (suggestion != null && !matched.contains(ident) && checked.add(ident) && matchesAll(suggestion, inputTerms, true) && filter.test(ident)) {
+                        offer(top, new Candidate(suggestion, RANK_FUZZY), limit);
+                    }
+                }
+            }
+        }
+        var result = new ArrayList<>(top);
+        result.sort(ranking);
+        return result.stream().map(c -> c.suggestion().ident()).toList();
+    }
+
+    private static void offer(PriorityQueue<Candidate> top, Candidate candidate, int limit) {
+        if (top.size() < limit) {
+            top.add(candidate);
+        } else if (ranking.compare(candidate, top.peek()) < 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private void remove(String ident) {
+        var previous = suggestions.remove(ident);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            terms.computeIfPresent(term, (k, idents) -> {
+                idents.remove(ident);
+                return idents.isEmpty() ? null : idents;
+            });
+        }
+    }
+
+    // called for every candidate, so plain loops
+    private static boolean matchesAll(Suggestion suggestion, String[] inputTerms, boolean fuzzy) {
+        for (String input : inputTerms) {
+            if (!matchesAny(suggestion.terms(), input, fuzzy && input.length() >= MIN_FUZZY_LENGTH)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAny(String[] terms, String input, boolean fuzzy) {
+        for (String term : terms) {
+            if (term.startsWith(input) || fuzzy && oneEditPrefix(term, input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If a prefix of the term is at most one insertion, deletion or substitution away from the input
+     */
+    static boolean oneEditPrefix(String term, String input) {
+        var length = input.length();
+        for (int prefix = Math.max(length - 1, 0); prefix <= Math.min(length + 1, term.length()); prefix++) {
+            if (oneEdit(term, prefix, input, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean oneEdit(String a, String b) {
+        return oneEdit(a, a.length(), b, b.length());
+    }
+
+    /**
+     * Compares the first aLength chars of a to the first bLength chars of b
+     */
+    private static boolean oneEdit(String a, int aLength, String b, int bLength) {
+        if (aLength > bLength) {
+            return oneEdit(b, bLength, a, aLength);
+        }
+        if (bLength - aLength > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < aLength && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (aLength == bLength) {
+            return i == aLength || a.regionMatches(i + 1, b, i + 1, aLength - i - 1);
+        }
+        return a.regionMatches(i, b, i + 1, aLength - i);
+    }
+
+    private static boolean exactMatch(Suggestion suggestion, String[] inputTerms) {
+        for (String input : inputTerms) {
+            for (String term : suggestion.terms()) {
+                if (term.equals(input)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lower case, ascii folded words
+     */
+    static String[] terms(String s) {
+        if (s == null) {
+            return new String[0];
+        }
+        var chars = s.toLowerCase().toCharArray();
+        var folded = new char[chars.length * 4];
+        int length = ASCIIFoldingFilter.foldToASCII(chars, 0, folded, 0, chars.length);
+        return Arrays.stream(new String(folded, 0, length).split("[\\s\\-]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
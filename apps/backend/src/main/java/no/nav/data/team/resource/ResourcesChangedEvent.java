@@ -0,0 +1,14 @@
+package no.nav.data.team.resource;
+
+import java.util.List;
+
+/**
+ * Published by {@link NomClient} after resources from nom are added or changed.
+ * Idents are empty if any resource may have changed, ie. after state is restored or cleared.
+ */
+public record ResourcesChangedEvent(List<String> idents) {
+
+    public boolean isAll() {
+        return idents.isEmpty();
+    }
+}
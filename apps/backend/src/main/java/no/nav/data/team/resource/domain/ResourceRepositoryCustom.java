@@ -1,9 +1,11 @@
 package no.nav.data.team.resource.domain;
 
-import no.nav.data.team.resource.domain.ResourceRepositoryImpl.Membership;
+import java.util.List;
 
 public interface ResourceRepositoryCustom {
 
-    Membership findByMemberIdent(String memberIdent);
-
+    /**
+     * Insert or replace the stored resource per ident, existing rows are only replaced by resources with a higher offset
+     */
+    void upsert(List<Resource> resources);
 }
@@ -1,50 +1,60 @@
 package no.nav.data.team.resource.domain;
 
-import no.nav.data.common.storage.domain.GenericStorage;
-import no.nav.data.team.cluster.domain.Cluster;
-import no.nav.data.team.po.domain.ProductArea;
-import no.nav.data.team.team.TeamRepository;
-import no.nav.data.team.team.domain.Team;
-import org.springframework.context.annotation.Lazy;
+import io.micrometer.core.annotation.Timed;
+import no.nav.data.common.utils.JsonUtils;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
-import static no.nav.data.common.storage.domain.GenericStorage.getOfType;
+import static no.nav.data.common.utils.MetricUtils.DB_QUERY_TIMED;
+import static no.nav.data.common.utils.MetricUtils.QUERY;
 
 @Repository
 public class ResourceRepositoryImpl implements ResourceRepositoryCustom {
 
-    private final NamedParameterJdbcTemplate jdbcTemplate;
-    private final TeamRepository teamRepository;
-
-    public ResourceRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, @Lazy TeamRepository teamRepository) {
-        this.jdbcTemplate = jdbcTemplate;
-        this.teamRepository = teamRepository;
+    private static final String UPSERT = """
+            insert into generic_storage (id, type, data, created_by, created_date, last_modified_by, last_modified_date)
+            values (:id, 'Resource', cast(:data as jsonb), :user, :time, :user, :time)
+            on conflict ((data ->> 'navIdent')) where type = 'Resource'
+            do update set data               = excluded.data || jsonb_build_object('id', generic_storage.id),
+                          last_modified_by   = excluded.last_modified_by,
+                          last_modified_date = excluded.last_modified_date
+            where cast(generic_storage.data ->> 'offset' as bigint) < cast(excluded.data ->> 'offset' as bigint)
+            """;
+
+    private final NamedParameterJdbcTemplate template;
+    private final AuditorAware<String> auditorAware;
+
+    public ResourceRepositoryImpl(NamedParameterJdbcTemplate template, AuditorAware<String> auditorAware) {
+        this.template = template;
+        this.auditorAware = auditorAware;
     }
 
     @Override
-    public Membership findByMemberIdent(String memberIdent) {
-        var resp = jdbcTemplate.queryForList(
-                "select id from generic_storage where data #>'{members}' @> :member::jsonb and type in ('Team', 'ProductArea', 'Cluster')",
-                new MapSqlParameterSource().addValue("member", String.format("[{\"navIdent\": \"%s\"}]", memberIdent))
-        );
-        var storages = get(resp);
-        return new Membership(getOfType(storages, Team.class), getOfType(storages, ProductArea.class), getOfType(storages, Cluster.class));
-    }
-
-    private List<GenericStorage> get(List<Map<String, Object>> resp) {
-        List<UUID> ids = resp.stream().map(i -> ((UUID) i.values().iterator().next())).collect(Collectors.toList());
-        return teamRepository.findAllById(ids);
+    @Transactional
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "ResourceRepositoryCustom.upsert"}, percentiles = {.99, .75, .50})
+    public void upsert(List<Resource> resources) {
+        if (resources.isEmpty()) {
+            return;
+        }
+        var user = auditorAware.getCurrentAuditor().orElse(null);
+        var time = LocalDateTime.now();
+        var params = resources.stream().map(resource -> {
+            if (resource.getId() == null) {
+                resource.setId(UUID.randomUUID());
+            }
+            return new MapSqlParameterSource()
+                    .addValue("id", resource.getId())
+                    .addValue("data", JsonUtils.toJson(resource))
+                    .addValue("user", user)
+                    .addValue("time", time);
+        }).toArray(MapSqlParameterSource[]::new);
+        template.batchUpdate(UPSERT, params);
     }
-
-    public record Membership(List<Team> teams, List<ProductArea> productAreas, List<Cluster> clusters) {
-
-    }
-
 }
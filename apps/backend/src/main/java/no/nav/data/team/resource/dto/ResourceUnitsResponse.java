@@ -10,7 +10,6 @@ import lombok.Singular;
 import no.nav.data.common.utils.DateUtil;
 import no.nav.data.team.org.OrgUrlId;
 import no.nav.data.team.resource.NomClient;
-import no.nav.data.team.resource.domain.Resource;
 import no.nav.nom.graphql.model.*;
 import no.nav.nom.graphql.model.OrgEnhetDto;
 import no.nav.nom.graphql.model.OrgEnhetsLederDto;
@@ -20,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static no.nav.data.common.utils.StreamUtils.convert;
 import static no.nav.data.common.utils.StreamUtils.distinctByKey;
@@ -57,6 +57,8 @@ public class ResourceUnitsResponse {
 
     public static ResourceUnitsResponse from(RessursDto nomRessurs, List<String> memberIdents, Function<String, Optional<OrgEnhetDto>> hentOrgEnhet) {
         var units = new ArrayList<Unit>();
+        // leader ident per unit, resolved together with the members
+        var leaderIdents = new ArrayList<String>();
 
         nomRessurs.getOrgTilknytning()
                 .stream()
@@ -78,7 +80,7 @@ public class ResourceUnitsResponse {
                                             .name(parentUnit.navn())
                                             .niva(parentUnit.niva).build()));
 
-                    org.getLeder().stream().findFirst()
+                    leaderIdents.add(org.getLeder().stream().findFirst()
                             .map(OrgEnhetsLederDto::getRessurs)
                             .map(RessursDto::getNavident)
                             .filter(id -> !id.equals(nomRessurs.getNavident()))
@@ -87,15 +89,18 @@ public class ResourceUnitsResponse {
                                     .map(RessursDto::getNavident)
                                     .findFirst()
                             )
-                            .ifPresent(ident -> unitBuilder.leader(NomClient.getInstance()
-                                    .getByNavIdent(ident)
-                                    .map(Resource::convertToResponse)
-                                    .orElse(null))
-                            );
+                            .orElse(null));
 
                     units.add(unitBuilder.build());
                 });
-        var members = convert(memberIdents, ident -> NomClient.getInstance().getByNavIdent(ident).map(Resource::convertToResponse).orElse(null));
+        var resources = NomClient.getInstance().resolveAll(Stream.concat(leaderIdents.stream(), memberIdents.stream()).toList());
+        for (int i = 0; i < units.size(); i++) {
+            var leaderIdent = leaderIdents.get(i);
+            if (leaderIdent != null) {
+                units.get(i).setLeader(resources.get(leaderIdent.toUpperCase()));
+            }
+        }
+        var members = convert(memberIdents, ident -> resources.get(ident.toUpperCase()));
         return new ResourceUnitsResponse(units, members);
     }
 
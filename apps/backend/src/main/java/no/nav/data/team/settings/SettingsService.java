@@ -4,15 +4,21 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
+import no.nav.data.common.storage.StorageChangedEvent;
 import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.common.storage.domain.GenericStorageRepository;
 import no.nav.data.common.storage.domain.TypeRegistration;
 import no.nav.data.common.utils.JsonUtils;
 import no.nav.data.common.validator.Validator;
 import no.nav.data.team.settings.dto.Settings;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -21,6 +27,7 @@ public class SettingsService {
 
     private static final String SETTINGS = TypeRegistration.typeOf(Settings.class);
     private final GenericStorageRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final LoadingCache<String, Settings> cache = Caffeine.newBuilder()
             .expireAfterWrite(Duration.ofMinutes(1))
@@ -40,9 +47,21 @@ public class SettingsService {
         settingsStorage.setData(JsonUtils.toJsonNode(settings));
         Settings updated = repository.save(settingsStorage).getDomainObjectData(Settings.class);
         cache.put("singleton", updated);
+        eventPublisher.publishEvent(new StorageChangedEvent(SETTINGS, List.of(settingsStorage.getId())));
         return updated;
     }
 
+    /**
+     * Runs before other listeners, so they see the new settings when changed on another instance
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorageChanged(StorageChangedEvent event) {
+        if (event.isType(Settings.class)) {
+            cache.invalidateAll();
+        }
+    }
+
     private GenericStorage findSettings() {
         return repository.findByType(SETTINGS).orElseGet(this::createSettings);
     }
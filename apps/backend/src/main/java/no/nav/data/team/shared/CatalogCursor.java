@@ -0,0 +1,32 @@
+package no.nav.data.team.shared;
+
+import no.nav.data.common.exceptions.ValidationException;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Position in the name, id order of the list endpoints, passed to clients as an opaque string
+ */
+public record CatalogCursor(String name, UUID id) {
+
+    private static final int ID_LENGTH = 36;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((id + (name == null ? "" : name)).getBytes(UTF_8));
+    }
+
+    public static CatalogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+            return new CatalogCursor(value.substring(ID_LENGTH), UUID.fromString(value.substring(0, ID_LENGTH)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor " + cursor);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package no.nav.data.team.shared;
+
+import lombok.Builder;
+import lombok.Value;
+import no.nav.data.common.storage.domain.DomainObject;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.team.shared.domain.DomainObjectStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filters of the team, product area and cluster list endpoints, evaluated against catalog_projection
+ */
+@Value
+@Builder
+public class CatalogFilter {
+
+    String type;
+    List<DomainObjectStatus> status;
+    UUID productAreaId;
+    UUID clusterId;
+    /**
+     * Empty matches nothing
+     */
+    Collection<String> locationCodes;
+
+    public static CatalogFilterBuilder of(Class<? extends DomainObject> type) {
+        return builder().type(TypeRegistration.typeOf(type));
+    }
+
+    public boolean isStatusFiltered() {
+        return status != null && !status.containsAll(List.of(DomainObjectStatus.values()));
+    }
+
+    public boolean isUnfiltered() {
+        return !isStatusFiltered() && productAreaId == null && clusterId == null && locationCodes == null;
+    }
+}
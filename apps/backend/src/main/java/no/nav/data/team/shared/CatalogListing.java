@@ -0,0 +1,122 @@
+package no.nav.data.team.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import no.nav.data.common.exceptions.TechnicalException;
+import no.nav.data.common.exceptions.ValidationException;
+import no.nav.data.common.rest.CursorPage;
+import no.nav.data.common.rest.StreamingJson;
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.utils.JsonUtils;
+import no.nav.data.team.resource.dto.ResourceResponse;
+import no.nav.data.team.shared.domain.Membered;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static no.nav.data.common.utils.StreamUtils.convert;
+import static no.nav.data.common.utils.StreamUtils.filter;
+import static no.nav.data.common.utils.StreamUtils.toMap;
+
+/**
+ * List endpoints of teams, product areas and clusters.
+ * <p>
+ * Filters are evaluated against catalog_projection. Without cursor or limit all matches are returned from the cached catalog,
+ * otherwise a keyset page in name order is loaded. With fields the response only holds those properties and resources are only resolved if included.
+ * Unpaged lists are written as {@value StreamingJson#NDJSON} if accepted.
+ */
+@Component
+public class CatalogListing {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    private static final Set<String> resourceFields = Set.of("members", "paOwnerGroup");
+
+    private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+    private final StorageService storage;
+    private final CatalogProjectionRepository repository;
+    private final ResponseFragmentCache fragmentCache;
+
+    public CatalogListing(StorageService storage, CatalogProjectionRepository repository, ResponseFragmentCache fragmentCache) {
+        this.storage = storage;
+        this.repository = repository;
+        this.fragmentCache = fragmentCache;
+    }
+
+    public record ListParams(String cursor, Integer limit, String fields) {
+
+        boolean isPaged() {
+            return cursor != null || limit != null;
+        }
+    }
+
+    public <T extends Membered> void write(Class<T> type, CatalogFilter filter, ListParams params, BiFunction<T, Map<String, ResourceResponse>, ?> converter,
+            HttpServletRequest request, HttpServletResponse response) {
+        var fields = parseFields(params.fields());
+        if (!params.isPaged()) {
+            var objects = storage.getAll(type);
+            if (!filter.isUnfiltered()) {
+                var ids = repository.find(filter, null, null).stream().map(CatalogCursor::id).collect(Collectors.toSet());
+                objects = filter(objects, o -> ids.contains(o.getId()));
+            }
+            if (fields != null) {
+                StreamingJson.writePage(project(objects, converter, fields).stream(), request, response);
+            } else if (StreamingJson.acceptsNdjson(request)) {
+                fragmentCache.writeLines(type, objects, converter, response);
+            } else {
+                fragmentCache.writePage(type, objects, converter, response);
+            }
+            return;
+        }
+
+        int limit = params.limit() == null ? DEFAULT_LIMIT : params.limit();
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        var keys = repository.find(filter, CatalogCursor.decode(params.cursor()), limit + 1);
+        var nextCursor = keys.size() > limit ? keys.get(limit - 1).encode() : null;
+        keys = keys.subList(0, Math.min(limit, keys.size()));
+
+        var byId = toMap(storage.getAll(convert(keys, CatalogCursor::id), type), Membered::getId);
+        var objects = keys.stream().map(key -> byId.get(key.id())).filter(Objects::nonNull).toList();
+        if (fields == null) {
+            fragmentCache.writeCursorPage(type, objects, converter, limit, nextCursor, response);
+        } else {
+            write(new CursorPage<>(project(objects, converter, fields), limit, nextCursor), response);
+        }
+    }
+
+    private <T extends Membered> List<ObjectNode> project(List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter, Set<String> fields) {
+        var resources = fields.stream().anyMatch(resourceFields::contains) ? Membered.resolveResources(objects) : Map.<String, ResourceResponse>of();
+        return convert(objects, o -> {
+            ObjectNode node = objectMapper.valueToTree(converter.apply(o, resources));
+            return node.retain(fields);
+        });
+    }
+
+    private void write(Object page, HttpServletResponse response) {
+        try {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), page);
+        } catch (IOException e) {
+            throw new TechnicalException("io error", e);
+        }
+    }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).collect(Collectors.toSet());
+    }
+}
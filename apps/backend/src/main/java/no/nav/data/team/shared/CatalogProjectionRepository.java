@@ -0,0 +1,65 @@
+package no.nav.data.team.shared;
+
+import io.micrometer.core.annotation.Timed;
+import no.nav.data.team.shared.domain.DomainObjectStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static no.nav.data.common.utils.MetricUtils.DB_QUERY_TIMED;
+import static no.nav.data.common.utils.MetricUtils.QUERY;
+import static no.nav.data.common.utils.StreamUtils.convert;
+
+@Repository
+public class CatalogProjectionRepository {
+
+    private final NamedParameterJdbcTemplate template;
+
+    public CatalogProjectionRepository(NamedParameterJdbcTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * Keys of matching objects in name, id order
+     *
+     * @param after exclusive start, null for first page
+     * @param limit max rows, null for all
+     */
+    @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "CatalogProjectionRepository.find"}, percentiles = {.99, .75, .50})
+    public List<CatalogCursor> find(CatalogFilter filter, CatalogCursor after, Integer limit) {
+        if (filter.getLocationCodes() != null && filter.getLocationCodes().isEmpty()) {
+            return List.of();
+        }
+        var params = new MapSqlParameterSource().addValue("type", filter.getType());
+        var sql = new StringBuilder("select coalesce(name, '') as name, id from catalog_projection where type = :type");
+        if (filter.isStatusFiltered()) {
+            sql.append(" and status in (:status)");
+            params.addValue("status", convert(filter.getStatus(), DomainObjectStatus::name));
+        }
+        if (filter.getProductAreaId() != null) {
+            sql.append(" and product_area_id = :productAreaId");
+            params.addValue("productAreaId", filter.getProductAreaId());
+        }
+        if (filter.getClusterId() != null) {
+            sql.append(" and cluster_ids @> array[cast(:clusterId as uuid)]");
+            params.addValue("clusterId", filter.getClusterId().toString());
+        }
+        if (filter.getLocationCodes() != null) {
+            sql.append(" and location_code in (:locationCodes)");
+            params.addValue("locationCodes", filter.getLocationCodes());
+        }
+        if (after != null) {
+            sql.append(" and (coalesce(name, ''), id) > (:afterName, :afterId)");
+            params.addValue("afterName", after.name()).addValue("afterId", after.id());
+        }
+        sql.append(" order by coalesce(name, ''), id");
+        if (limit != null) {
+            sql.append(" limit :limit");
+            params.addValue("limit", limit);
+        }
+        return template.query(sql.toString(), params, (rs, rowNum) -> new CatalogCursor(rs.getString("name"), rs.getObject("id", UUID.class)));
+    }
+}
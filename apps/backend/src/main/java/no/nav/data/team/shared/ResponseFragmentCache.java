@@ -0,0 +1,208 @@
+package no.nav.data.team.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.prometheus.client.Summary;
+import jakarta.servlet.http.HttpServletResponse;
+import no.nav.data.common.exceptions.TechnicalException;
+import no.nav.data.common.rest.StreamingJson;
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.common.utils.JsonUtils;
+import no.nav.data.common.utils.MetricUtils;
+import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.po.domain.ProductArea;
+import no.nav.data.team.resource.ResourcesChangedEvent;
+import no.nav.data.team.resource.dto.ResourceResponse;
+import no.nav.data.team.settings.dto.Settings;
+import no.nav.data.team.shared.domain.Membered;
+import no.nav.data.team.team.domain.Team;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static no.nav.data.common.utils.StreamUtils.convert;
+import static no.nav.data.common.utils.StreamUtils.filter;
+
+/**
+ * Serialized responses of teams, product areas and clusters, so list endpoints write cached json instead of converting and serializing the whole catalog.
+ * <p>
+ * Fragments are keyed by object version. A fragment is invalidated when its object changes, when a resource included in it changes in
+ * {@link no.nav.data.team.resource.NomClient}, or when settings used to resolve resources change.
+ * Fragments serialized while an invalidation happened are not cached, as they may hold the old state.
+ */
+@Component
+public class ResponseFragmentCache {
+
+    private static final Set<String> cachedTypes = Set.of(
+            TypeRegistration.typeOf(Team.class),
+            TypeRegistration.typeOf(ProductArea.class),
+            TypeRegistration.typeOf(Cluster.class)
+    );
+
+    private static final Summary writeLatency = MetricUtils.summary()
+            .labels(TypeRegistration.typeOf(Team.class)).labels(TypeRegistration.typeOf(ProductArea.class)).labels(TypeRegistration.typeOf(Cluster.class))
+            .labelNames("type")
+            .name("response_fragment_write_summary").help("Time taken to write a list response from cached fragments")
+            .quantile(.5, .01).quantile(.9, .01).quantile(.99, .001)
+            .register();
+
+    private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+    private final Cache<FragmentKey, byte[]> cache = MetricUtils.register("responseFragmentCache",
+            Caffeine.newBuilder().recordStats()
+                    .expireAfterWrite(Duration.ofMinutes(10))
+                    .maximumSize(10_000)
+                    .build());
+    // ident -> ids of cached objects including the resource
+    private final Map<String, Set<UUID>> byIdent = new ConcurrentHashMap<>();
+    // incremented on every invalidation
+    private final AtomicLong generation = new AtomicLong();
+
+    private record FragmentKey(UUID id, LocalDateTime lastModified) {
+
+        static FragmentKey of(Membered object) {
+            var changeStamp = object.getChangeStamp();
+            return new FragmentKey(object.getId(), changeStamp == null ? null : changeStamp.getLastModifiedDate());
+        }
+    }
+
+    /**
+     * Writes the objects as a {@link no.nav.data.common.rest.RestResponsePage}, objects without a cached fragment are converted with their resources resolved in one batch.
+     */
+    public <T extends Membered> void writePage(Class<T> type, List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter, HttpServletResponse response) {
+        int size = objects.size();
+        // same layout as RestResponsePage
+        write(type, objects, converter, response, MediaType.APPLICATION_JSON_VALUE,
+                "{\"pageNumber\":0,\"pageSize\":%d,\"pages\":1,\"numberOfElements\":%d,\"totalElements\":%d,\"paged\":false,\"content\":[".formatted(size, size, size),
+                ",", "]}");
+    }
+
+    /**
+     * Writes the objects as {@value StreamingJson#NDJSON}, one object per line
+     */
+    public <T extends Membered> void writeLines(Class<T> type, List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter, HttpServletResponse response) {
+        write(type, objects, converter, response, StreamingJson.NDJSON, "", "\n", objects.isEmpty() ? "" : "\n");
+    }
+
+    /**
+     * Writes the objects as a {@link no.nav.data.common.rest.CursorPage}
+     */
+    public <T extends Membered> void writeCursorPage(Class<T> type, List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter, int limit, String nextCursor,
+            HttpServletResponse response) {
+        try {
+            // same layout as CursorPage
+            write(type, objects, converter, response, MediaType.APPLICATION_JSON_VALUE,
+                    "{\"limit\":%d,\"numberOfElements\":%d,\"nextCursor\":%s,\"content\":[".formatted(limit, objects.size(), objectMapper.writeValueAsString(nextCursor)),
+                    ",", "]}");
+        } catch (IOException e) {
+            throw new TechnicalException("io error", e);
+        }
+    }
+
+    private <T extends Membered> void write(Class<T> type, List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter, HttpServletResponse response,
+            String contentType, String head, String separator, String tail) {
+        try (var ignored = writeLatency.labels(TypeRegistration.typeOf(type)).startTimer()) {
+            response.setContentType(contentType);
+            var out = response.getOutputStream();
+            var fragments = fragments(objects, converter);
+
+            out.write(head.getBytes(UTF_8));
+            for (int i = 0; i < objects.size(); i++) {
+                if (i > 0) {
+                    out.write(separator.getBytes(UTF_8));
+                }
+                out.write(fragments.get(FragmentKey.of(objects.get(i))));
+            }
+            out.write(tail.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new TechnicalException("io error", e);
+        }
+    }
+
+    private <T extends Membered> Map<FragmentKey, byte[]> fragments(List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter) {
+        var fragments = new HashMap<>(cache.getAllPresent(convert(objects, FragmentKey::of)));
+        var missing = filter(objects, o -> !fragments.containsKey(FragmentKey.of(o)));
+        if (!missing.isEmpty()) {
+            long startGeneration = generation.get();
+            var serialized = serialize(missing, converter);
+            fragments.putAll(serialized);
+            cacheIfCurrent(startGeneration, serialized);
+        }
+        return fragments;
+    }
+
+    private synchronized void cacheIfCurrent(long startGeneration, Map<FragmentKey, byte[]> serialized) {
+        if (generation.get() == startGeneration) {
+            cache.putAll(serialized);
+        }
+    }
+
+    private <T extends Membered> Map<FragmentKey, byte[]> serialize(List<T> objects, BiFunction<T, Map<String, ResourceResponse>, ?> converter) {
+        var resources = Membered.resolveResources(objects);
+        var fragments = new HashMap<FragmentKey, byte[]>();
+        for (T object : objects) {
+            object.getResourceIdents().forEach(ident -> byIdent.computeIfAbsent(ident.toUpperCase(), k -> ConcurrentHashMap.newKeySet()).add(object.getId()));
+            try {
+                fragments.put(FragmentKey.of(object), objectMapper.writeValueAsBytes(converter.apply(object, resources)));
+            } catch (IOException e) {
+                throw new TechnicalException("failed to serialize " + object.type() + " " + object.getId(), e);
+            }
+        }
+        return fragments;
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        byIdent.clear();
+    }
+
+    private synchronized void invalidate(Collection<UUID> ids) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> ids.contains(key.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorageChanged(StorageChangedEvent event) {
+        if (event.isType(Settings.class) || (cachedTypes.contains(event.type()) && event.ids().isEmpty())) {
+            invalidateAll();
+        } else if (cachedTypes.contains(event.type())) {
+            invalidate(Set.copyOf(event.ids()));
+        }
+    }
+
+    @EventListener
+    public void onResourcesChanged(ResourcesChangedEvent event) {
+        if (event.isAll()) {
+            invalidateAll();
+            return;
+        }
+        var ids = new HashSet<UUID>();
+        for (String ident : event.idents()) {
+            var identIds = byIdent.remove(ident.toUpperCase());
+            if (identIds != null) {
+                ids.addAll(identIds);
+            }
+        }
+        if (!ids.isEmpty()) {
+            invalidate(ids);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package no.nav.data.team.shared.domain;
 
 import no.nav.data.team.member.dto.MemberResponse;
+import no.nav.data.team.resource.NomClient;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.team.domain.TeamRole;
 
 import java.util.List;
+import java.util.Map;
 
 public interface Member {
 
@@ -11,5 +14,20 @@ public interface Member {
 
     List<TeamRole> getRoles();
 
-    MemberResponse convertToResponse();
+    /**
+     * @param resources resolved resources, see {@link NomClient#resolveAll(java.util.Collection)}
+     */
+    MemberResponse convertToResponse(Map<String, ResourceResponse> resources);
+
+    default MemberResponse convertToResponse() {
+        return convertToResponse(NomClient.getInstance().resolveAll(List.of(getNavIdent())));
+    }
+
+    /**
+     * Resource response for an ident from resolved resources, a stale placeholder if not found
+     */
+    static ResourceResponse resourceResponse(Map<String, ResourceResponse> resources, String navIdent) {
+        var resource = navIdent == null ? null : resources.get(navIdent.toUpperCase());
+        return resource != null ? resource : ResourceResponse.builder().navIdent(navIdent).stale(true).build();
+    }
 }
@@ -2,10 +2,16 @@ package no.nav.data.team.shared.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import no.nav.data.common.storage.domain.DomainObject;
+import no.nav.data.team.resource.NomClient;
+import no.nav.data.team.resource.dto.ResourceResponse;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import static no.nav.data.common.utils.StreamUtils.convert;
 
 public interface Membered extends DomainObject {
 
@@ -18,6 +24,21 @@ public interface Membered extends DomainObject {
         return new ArrayList<>(getMembers());
     }
 
+    /**
+     * Idents of all resources included in the response
+     */
+    @JsonIgnore
+    default List<String> getResourceIdents() {
+        return convert(getMembers(), Member::getNavIdent);
+    }
+
     LocalDateTime getLastNudge();
 
+    /**
+     * Resolve the resources of all given objects in one batch
+     */
+    static Map<String, ResourceResponse> resolveResources(Collection<? extends Membered> membered) {
+        return NomClient.getInstance().resolveAll(membered.stream().flatMap(m -> m.getResourceIdents().stream()).toList());
+    }
+
 }
@@ -45,7 +45,7 @@ public class Links {
     public static Links getFor(DomainObject domainObject) {
         UrlGenerator urlGenerator = UrlGenerator.instance();
         if (domainObject instanceof Resource r) {
-            return Links.builder().ui(urlGenerator.resourceUrl(r.getNavIdent())).build();
+            return forResource(r.getNavIdent());
         }
         return Links.builder()
                 .ui(urlGenerator.urlFor(domainObject.getClass(), domainObject.getId()))
@@ -53,6 +53,10 @@ public class Links {
                 .build();
     }
 
+    public static Links forResource(String navIdent) {
+        return Links.builder().ui(UrlGenerator.instance().resourceUrl(navIdent)).build();
+    }
+
     private static List<NamedLink> slackUrls(DomainObject domainObject) {
         String slack = null;
         if (domainObject instanceof Team t) {
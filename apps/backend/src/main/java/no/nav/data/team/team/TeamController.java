@@ -5,15 +5,17 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import lombok.val;
 import no.nav.data.common.exceptions.TechnicalException;
 import no.nav.data.common.exceptions.ValidationException;
 import no.nav.data.common.rest.RestResponsePage;
 import no.nav.data.team.location.LocationRepository;
-import no.nav.data.team.location.domain.Location;
+import no.nav.data.team.shared.CatalogFilter;
+import no.nav.data.team.shared.CatalogListing;
+import no.nav.data.team.shared.CatalogListing.ListParams;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 import no.nav.data.team.team.TeamExportService.SpreadsheetType;
 import no.nav.data.team.team.domain.Team;
@@ -24,7 +26,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -35,10 +36,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.UUID;
 
 import static no.nav.data.common.export.ExcelBuilder.SPREADSHEETML_SHEET_MIME;
@@ -54,44 +58,40 @@ public class TeamController {
     private final TeamService service;
     private final TeamExportService teamExportService;
     private final LocationRepository locationRepository;
+    private final CatalogListing catalogListing;
 
-    public TeamController(TeamService service, TeamExportService teamExportService, LocationRepository locationRepository) {
+    public TeamController(TeamService service, TeamExportService teamExportService, LocationRepository locationRepository, CatalogListing catalogListing) {
         this.service = service;
         this.teamExportService = teamExportService;
         this.locationRepository = locationRepository;
+        this.catalogListing = catalogListing;
     }
 
-    @Operation(summary = "Get All Teams")
-    @ApiResponse(description = "ok")
+    @Operation(summary = "Get All Teams", description = "Paged in name order if cursor or limit is given, fields limits the properties of each team")
+    @ApiResponse(description = "ok", content = @Content(schema = @Schema(implementation = TeamPageResponse.class)))
     @GetMapping()
-    public ResponseEntity<RestResponsePage<TeamResponse>> getAll(
+    public void getAll(
+            HttpServletRequest request,
+            HttpServletResponse response,
             @RequestParam(name = "productAreaId", required = false) UUID productAreaId,
             @RequestParam(name = "clusterId", required = false) UUID clusterId,
             @RequestParam(name = "locationCode", required = false) String locationCode,
-            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus
+            @RequestParam(name = "status", required = false, defaultValue = "ACTIVE,PLANNED,INACTIVE") String stringStatus,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) String fields
     ) {
         log.info("Get all Teams");
 
-        var queryStatusList = DomainObjectStatus.fromQueryParameter(stringStatus);
-
-        List<Team> teams;
-        if (productAreaId != null) {
-            teams = service.findByProductArea(productAreaId);
-        } else if (clusterId != null) {
-            teams = service.findByCluster(clusterId);
-        } else {
-            teams = service.getAll();
+        var filter = CatalogFilter.of(Team.class)
+                .status(DomainObjectStatus.fromQueryParameter(stringStatus))
+                .productAreaId(productAreaId)
+                .clusterId(clusterId);
+        if (locationCode != null) {
+            filter.locationCodes(locationRepository.getLocationByCode(locationCode).map(l -> l.flatMap().keySet()).orElse(Set.of()));
         }
 
-        if(locationCode != null){
-            val location = locationRepository.getLocationByCode(locationCode);
-            val locations = location.isPresent() ? location.get().flatMap() : new HashMap<String, Location>();
-            teams = teams.stream().filter(t -> locations.containsKey(t.getOfficeHours() != null ? t.getOfficeHours().getLocationCode() : null)).toList();
-        }
-
-        teams = teams.stream().filter(t -> queryStatusList.contains(t.getStatus())).toList();
-
-        return ResponseEntity.ok(new RestResponsePage<>(convert(teams, Team::convertToResponse)));
+        catalogListing.write(Team.class, filter.build(), new ListParams(cursor, limit, fields), Team::convertToResponse, request, response);
     }
 
     @Operation(summary = "Get Team")
@@ -112,7 +112,7 @@ public class TeamController {
         }
         var teams = service.search(name);
         log.info("Returned {} teams", teams.size());
-        return new ResponseEntity<>(new RestResponsePage<>(convert(teams, Team::convertToResponse)), HttpStatus.OK);
+        return new ResponseEntity<>(new RestResponsePage<>(Team.convertToResponse(teams)), HttpStatus.OK);
     }
 
     @Operation(summary = "Create Team v1")
@@ -140,7 +140,7 @@ public class TeamController {
     public ResponseEntity<RestResponsePage<TeamResponse>> createTeams(@RequestBody List<TeamRequest> requests) {
         log.info("Create Teams");
         var teams = convert(requests, service::save);
-        return new ResponseEntity<>(new RestResponsePage<>(convert(teams, Team::convertToResponse)), HttpStatus.CREATED);
+        return new ResponseEntity<>(new RestResponsePage<>(Team.convertToResponse(teams)), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update Team", description = "If members is null members will not be updated")
@@ -185,18 +185,17 @@ public class TeamController {
         if (type != SpreadsheetType.ALL && id == null) {
             throw new ValidationException("missing id for spreadsheet type " + type);
         }
-        byte[] doc = teamExportService.generate(type, id);
         String filename = "teams_" + type + Optional.ofNullable(id).map(s -> "-" + s).orElse("") + ".xlsx";
         response.setContentType(SPREADSHEETML_SHEET_MIME);
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
-        writeDoc(response, doc);
+        writeDoc(response, out -> teamExportService.generate(type, id, out));
     }
 
-    private void writeDoc(HttpServletResponse response, byte[] doc) {
+    private void writeDoc(HttpServletResponse response, Consumer<OutputStream> doc) {
         try {
-            StreamUtils.copy(doc, response.getOutputStream());
+            doc.accept(response.getOutputStream());
             response.flushBuffer();
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new TechnicalException("io error", e);
         }
     }
@@ -9,16 +9,19 @@ import no.nav.data.team.po.ProductAreaService;
 import no.nav.data.team.po.domain.ProductArea;
 import no.nav.data.team.resource.NomClient;
 import no.nav.data.team.resource.domain.ResourceType;
+import no.nav.data.team.resource.dto.ResourceResponse;
+import no.nav.data.team.shared.domain.Membered;
 import no.nav.data.team.shared.Lang;
 import no.nav.data.team.team.domain.OfficeHours;
 import no.nav.data.team.team.domain.Team;
-import no.nav.data.team.team.domain.TeamMember;
 import no.nav.data.team.team.domain.TeamRole;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -50,7 +53,7 @@ public class TeamExportService {
         this.clusterService = clusterService;
     }
 
-    public byte[] generate(SpreadsheetType type, String filter) {
+    public void generate(SpreadsheetType type, String filter, OutputStream out) {
         UUID filterUuid = toUUID(filter);
         var domainPaMap = productAreaService.getAll().stream().collect(Collectors.toMap(ProductArea::getId, Function.identity()));
         var domainClusterMap = clusterService.getAll().stream().collect(Collectors.toMap(Cluster::getId, Function.identity()));
@@ -62,11 +65,12 @@ public class TeamExportService {
 
         var teams = convert(domainTeams, t -> new TeamInfo(t, domainPaMap.get(t.getProductAreaId()), convert(t.getClusterIds(), domainClusterMap::get)));
 
-        return generate(teams);
+        generate(teams, out);
     }
 
-    private byte[] generate(List<TeamInfo> teams) {
-        var doc = new ExcelBuilder("Teams");
+    private void generate(List<TeamInfo> teams, OutputStream out) {
+        teams.sort(Comparator.comparing(t -> t.team().getName()));
+        var doc = new ExcelBuilder("Teams", out);
 
         doc.addRow()
                 .addCell(Lang.TEAM_ID)
@@ -94,15 +98,15 @@ public class TeamExportService {
                 .addCell(Lang.DESCRIPTION)
         ;
 
-        teams.sort(Comparator.comparing(t -> t.team().getName()));
-        teams.forEach(t -> add(doc, t));
+        var resources = Membered.resolveResources(convert(teams, TeamInfo::team));
+        teams.forEach(t -> add(doc, t, resources));
 
-        return doc.build();
+        doc.finish();
     }
 
-    private void add(ExcelBuilder doc, TeamInfo teamInfo) {
+    private void add(ExcelBuilder doc, TeamInfo teamInfo, Map<String, ResourceResponse> resources) {
         var team = teamInfo.team();
-        var members = convert(team.getMembers(), TeamMember::convertToResponse);
+        var members = convert(team.getMembers(), m -> m.convertToResponse(resources));
 
 
         doc.addRow()
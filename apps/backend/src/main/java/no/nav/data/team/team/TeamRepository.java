@@ -16,23 +16,23 @@ import static no.nav.data.common.utils.MetricUtils.QUERY;
 public interface TeamRepository extends JpaRepository<GenericStorage, UUID>, TeamRepositoryCustom {
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepository.findByProductArea"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'productAreaId' = cast(?1 as text) and type = 'Team'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Team' and cp.product_area_id = ?1", nativeQuery = true)
     List<GenericStorage> findByProductArea(UUID productAreaId);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepository.findByNameLike"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike %?1% and type = 'Team'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Team' and cp.name ilike %?1%", nativeQuery = true)
     List<GenericStorage> findByNameLike(String name);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepository.findByName"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where data ->> 'name' ilike ?1 and type = 'Team'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Team' and cp.name ilike ?1", nativeQuery = true)
     List<GenericStorage> findByName(String name);
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepository.findUnsentUpdates"}, percentiles = {.99, .75, .50})
-    @Query(value = "select * from generic_storage where cast(data -> 'updateSent' as boolean) = false and last_modified_date < now() at time zone 'Europe/Oslo' - interval '5 minute' and type = 'Team'", nativeQuery = true)
+    @Query(value = "select gs.* from generic_storage gs join catalog_projection cp on cp.id = gs.id where cp.type = 'Team' and cp.update_sent = false and gs.last_modified_date < now() at time zone 'Europe/Oslo' - interval '5 minute'", nativeQuery = true)
     List<GenericStorage> findUnsentUpdates();
 
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepository.getTeamIdsForProductArea"}, percentiles = {.99, .75, .50})
-    @Query(value = "select cast(id as text) from generic_storage where data ->> 'productAreaId' = cast(?1 as text) and type = 'Team'", nativeQuery = true)
+    @Query(value = "select cast(id as text) from catalog_projection where type = 'Team' and product_area_id = ?1", nativeQuery = true)
     List<UUID> getTeamIdsForProductArea(UUID prodAreaId);
 
     @Modifying
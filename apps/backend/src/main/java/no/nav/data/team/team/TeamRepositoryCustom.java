@@ -7,5 +7,5 @@ import java.util.UUID;
 
 public interface TeamRepositoryCustom {
 
-    List<Team> findByCluster(UUID teamId);
+    List<Team> findByCluster(UUID clusterId);
 }
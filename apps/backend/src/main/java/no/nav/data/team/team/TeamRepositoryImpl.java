@@ -30,9 +30,9 @@ public class TeamRepositoryImpl implements TeamRepositoryCustom {
 
     @Override
     @Timed(value = DB_QUERY_TIMED, extraTags = {QUERY, "TeamRepositoryCustom.findByCluster"}, percentiles = {.99, .75, .50})
-    public List<Team> findByCluster(UUID teamId) {
-        var resp = template.queryForList("select id from generic_storage where data #>'{clusterIds}' ?? :teamId",
-                new MapSqlParameterSource().addValue("teamId", teamId.toString()));
+    public List<Team> findByCluster(UUID clusterId) {
+        var resp = template.queryForList("select id from catalog_projection where type = 'Team' and cluster_ids @> array[cast(:clusterId as uuid)]",
+                new MapSqlParameterSource().addValue("clusterId", clusterId.toString()));
         return get(resp);
     }
 
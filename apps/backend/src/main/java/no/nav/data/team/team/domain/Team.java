@@ -10,6 +10,7 @@ import no.nav.data.common.utils.StreamUtils;
 import no.nav.data.team.contact.domain.ContactAddress;
 import no.nav.data.team.location.LocationRepository;
 import no.nav.data.team.location.dto.LocationSimplePathResponse;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.shared.domain.DomainObjectStatus;
 import no.nav.data.team.shared.domain.HistorizedDomainObject;
 import no.nav.data.team.shared.domain.Membered;
@@ -22,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static no.nav.data.common.utils.StreamUtils.copyOf;
@@ -86,6 +88,18 @@ public class Team implements DomainObject, Membered, HistorizedDomainObject {
     }
 
     public TeamResponse convertToResponse() {
+        return convertToResponse(Membered.resolveResources(List.of(this)));
+    }
+
+    /**
+     * Convert a list of teams, resolving the resources of all members in one batch
+     */
+    public static List<TeamResponse> convertToResponse(List<Team> teams) {
+        var resources = Membered.resolveResources(teams);
+        return StreamUtils.convert(teams, team -> team.convertToResponse(resources));
+    }
+
+    public TeamResponse convertToResponse(Map<String, ResourceResponse> resources) {
         return TeamResponse.builder()
                 .id(id)
                 .name(name)
@@ -101,7 +115,7 @@ public class Team implements DomainObject, Membered, HistorizedDomainObject {
                 .qaTime(qaTime)
                 .naisTeams(copyOf(naisTeams))
                 .tags(copyOf(tags))
-                .members(StreamUtils.convert(members, TeamMember::convertToResponse))
+                .members(StreamUtils.convert(members, member -> member.convertToResponse(resources)))
                 .changeStamp(convertChangeStampResponse())
                 .links(Links.getFor(this))
                 .officeHours(officeHours != null ? OfficeHoursResponse.builder()
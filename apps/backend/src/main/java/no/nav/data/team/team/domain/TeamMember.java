@@ -6,13 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Singular;
 import no.nav.data.team.member.dto.MemberResponse;
-import no.nav.data.team.resource.NomClient;
 import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.shared.domain.Member;
 import no.nav.data.team.team.dto.TeamMemberRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -40,20 +40,16 @@ public class TeamMember implements Member {
                 .build();
     }
 
-    public MemberResponse convertToResponse() {
-        var builder = MemberResponse.builder()
+    @Override
+    public MemberResponse convertToResponse(Map<String, ResourceResponse> resources) {
+        return MemberResponse.builder()
                 .navIdent(getNavIdent())
                 .roles(getRoles())
                 .description(getDescription())
                 .teamPercent(getTeamPercent())
                 .startDate(getStartDate())
-                .endDate(getEndDate());
-
-        NomClient.getInstance()
-                .getByNavIdent(getNavIdent())
-                .ifPresentOrElse(resource ->
-                                builder.resource(resource.convertToResponse())
-                        , () -> builder.resource(ResourceResponse.builder().navIdent(getNavIdent()).stale(true).build()));
-        return builder.build();
+                .endDate(getEndDate())
+                .resource(Member.resourceResponse(resources, getNavIdent()))
+                .build();
     }
 }
@@ -0,0 +1,55 @@
+-- Typed projection of the fields teams, product areas and clusters are queried on, kept in sync with generic_storage by trigger
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE IF NOT EXISTS CATALOG_PROJECTION
+(
+    ID              UUID PRIMARY KEY REFERENCES GENERIC_STORAGE (ID) ON DELETE CASCADE,
+    TYPE            TEXT NOT NULL,
+    NAME            TEXT,
+    PRODUCT_AREA_ID UUID,
+    CLUSTER_IDS     UUID[],
+    UPDATE_SENT     BOOLEAN,
+    STATUS          TEXT
+);
+
+CREATE INDEX IF NOT EXISTS CP_TYPE_PRODUCT_AREA_IDX ON CATALOG_PROJECTION (TYPE, PRODUCT_AREA_ID);
+CREATE INDEX IF NOT EXISTS CP_CLUSTER_IDS_IDX ON CATALOG_PROJECTION USING GIN (CLUSTER_IDS);
+CREATE INDEX IF NOT EXISTS CP_NAME_TRGM_IDX ON CATALOG_PROJECTION USING GIN (NAME GIN_TRGM_OPS);
+CREATE INDEX IF NOT EXISTS CP_UPDATE_NOT_SENT_IDX ON CATALOG_PROJECTION (TYPE) WHERE UPDATE_SENT = FALSE;
+
+CREATE OR REPLACE FUNCTION CATALOG_PROJECTION_SYNC() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO CATALOG_PROJECTION (ID, TYPE, NAME, PRODUCT_AREA_ID, CLUSTER_IDS, UPDATE_SENT, STATUS)
+    VALUES (NEW.ID,
+            NEW.TYPE,
+            NEW.DATA ->> 'name',
+            CAST(NULLIF(NEW.DATA ->> 'productAreaId', '') AS UUID),
+            CASE
+                WHEN JSONB_TYPEOF(NEW.DATA -> 'clusterIds') = 'array'
+                    THEN ARRAY(SELECT CAST(JSONB_ARRAY_ELEMENTS_TEXT(NEW.DATA -> 'clusterIds') AS UUID))
+                END,
+            CAST(NEW.DATA ->> 'updateSent' AS BOOLEAN),
+            NEW.DATA ->> 'status')
+    ON CONFLICT (ID) DO UPDATE SET NAME            = EXCLUDED.NAME,
+                                   PRODUCT_AREA_ID = EXCLUDED.PRODUCT_AREA_ID,
+                                   CLUSTER_IDS     = EXCLUDED.CLUSTER_IDS,
+                                   UPDATE_SENT     = EXCLUDED.UPDATE_SENT,
+                                   STATUS          = EXCLUDED.STATUS;
+    RETURN NULL;
+END;
+$$ LANGUAGE PLPGSQL;
+
+DROP TRIGGER IF EXISTS CATALOG_PROJECTION_TRG ON GENERIC_STORAGE;
+CREATE TRIGGER CATALOG_PROJECTION_TRG
+    AFTER INSERT OR UPDATE OF DATA
+    ON GENERIC_STORAGE
+    FOR EACH ROW
+    WHEN (NEW.TYPE IN ('Team', 'ProductArea', 'Cluster'))
+EXECUTE PROCEDURE CATALOG_PROJECTION_SYNC();
+
+-- backfill through the trigger
+UPDATE GENERIC_STORAGE
+SET DATA = DATA
+WHERE TYPE IN ('Team', 'ProductArea', 'Cluster');
@@ -0,0 +1,13 @@
+-- One resource row per navIdent, previously versions were appended and removed by a cleanup job
+
+DELETE
+FROM GENERIC_STORAGE
+WHERE ID IN (SELECT ID
+             FROM (SELECT ID,
+                          ROW_NUMBER() OVER (PARTITION BY DATA ->> 'navIdent'
+                              ORDER BY CAST(DATA ->> 'offset' AS BIGINT) DESC, CREATED_DATE DESC, ID) AS RN
+                   FROM GENERIC_STORAGE
+                   WHERE TYPE = 'Resource') R
+             WHERE RN > 1);
+
+CREATE UNIQUE INDEX IF NOT EXISTS GS_RESOURCE_IDENT_IDX ON GENERIC_STORAGE ((DATA ->> 'navIdent')) WHERE TYPE = 'Resource';
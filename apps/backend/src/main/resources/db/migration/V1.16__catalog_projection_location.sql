@@ -0,0 +1,37 @@
+-- Team location and keyset order for paged list endpoints
+
+ALTER TABLE CATALOG_PROJECTION
+    ADD COLUMN IF NOT EXISTS LOCATION_CODE TEXT;
+
+CREATE INDEX IF NOT EXISTS CP_TYPE_NAME_ID_IDX ON CATALOG_PROJECTION (TYPE, COALESCE(NAME, ''), ID);
+CREATE INDEX IF NOT EXISTS CP_TYPE_LOCATION_CODE_IDX ON CATALOG_PROJECTION (TYPE, LOCATION_CODE);
+
+CREATE OR REPLACE FUNCTION CATALOG_PROJECTION_SYNC() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO CATALOG_PROJECTION (ID, TYPE, NAME, PRODUCT_AREA_ID, CLUSTER_IDS, UPDATE_SENT, STATUS, LOCATION_CODE)
+    VALUES (NEW.ID,
+            NEW.TYPE,
+            NEW.DATA ->> 'name',
+            CAST(NULLIF(NEW.DATA ->> 'productAreaId', '') AS UUID),
+            CASE
+                WHEN JSONB_TYPEOF(NEW.DATA -> 'clusterIds') = 'array'
+                    THEN ARRAY(SELECT CAST(JSONB_ARRAY_ELEMENTS_TEXT(NEW.DATA -> 'clusterIds') AS UUID))
+                END,
+            CAST(NEW.DATA ->> 'updateSent' AS BOOLEAN),
+            NEW.DATA ->> 'status',
+            NEW.DATA -> 'officeHours' ->> 'locationCode')
+    ON CONFLICT (ID) DO UPDATE SET NAME            = EXCLUDED.NAME,
+                                   PRODUCT_AREA_ID = EXCLUDED.PRODUCT_AREA_ID,
+                                   CLUSTER_IDS     = EXCLUDED.CLUSTER_IDS,
+                                   UPDATE_SENT     = EXCLUDED.UPDATE_SENT,
+                                   STATUS          = EXCLUDED.STATUS,
+                                   LOCATION_CODE   = EXCLUDED.LOCATION_CODE;
+    RETURN NULL;
+END;
+$$ LANGUAGE PLPGSQL;
+
+-- backfill through the trigger
+UPDATE GENERIC_STORAGE
+SET DATA = DATA
+WHERE TYPE = 'Team';
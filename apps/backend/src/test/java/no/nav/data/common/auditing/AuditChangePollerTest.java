@@ -0,0 +1,149 @@
+package no.nav.data.common.auditing;
+
+import no.nav.data.common.auditing.domain.Action;
+import no.nav.data.common.auditing.domain.AuditVersionRepository;
+import no.nav.data.common.auditing.dto.AuditMetadata;
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.web.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditChangePollerTest {
+
+    @Mock
+    private AuditVersionRepository repository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void publishGroupedByType() {
+        var poller = new AuditChangePoller(repository, eventPublisher);
+        var team1 = change("Team", LocalDateTime.now());
+        var team2 = change("Team", LocalDateTime.now());
+        var cluster = change("Cluster", LocalDateTime.now());
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of(team1, team2, cluster));
+        var version = CatalogVersion.current();
+
+        poller.poll();
+
+        verify(eventPublisher).publishEvent(new StorageChangedEvent("Team", List.of(team1.getTableId(), team2.getTableId())));
+        verify(eventPublisher).publishEvent(new StorageChangedEvent("Cluster", List.of(cluster.getTableId())));
+        assertThat(CatalogVersion.current()).isNotEqualTo(version);
+    }
+
+    @Test
+    void overlappingPolls() {
+        var poller = new AuditChangePoller(repository, eventPublisher);
+        var first = change("Team", LocalDateTime.now());
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of(first));
+        poller.poll();
+
+        // committed after the first poll, with an audit time before it
+        var late = change("Team", first.getTime().minusSeconds(5));
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of(late, first));
+        poller.poll();
+
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of(late, first));
+        poller.poll();
+
+        verify(eventPublisher, times(1)).publishEvent(new StorageChangedEvent("Team", List.of(first.getTableId())));
+        verify(eventPublisher, times(1)).publishEvent(new StorageChangedEvent("Team", List.of(late.getTableId())));
+        verify(eventPublisher, times(2)).publishEvent(any(StorageChangedEvent.class));
+
+        var since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(3)).getAllMetadataSince(since.capture());
+        // each poll looks back past the start of the previous one
+        assertThat(since.getAllValues().get(1)).isBefore(LocalDateTime.now().minusSeconds(59));
+        assertThat(since.getAllValues().get(2)).isAfterOrEqualTo(since.getAllValues().get(1));
+    }
+
+    @Test
+    void nothingChanged() {
+        var poller = new AuditChangePoller(repository, eventPublisher);
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of());
+        var version = CatalogVersion.current();
+
+        poller.poll();
+
+        verify(eventPublisher, never()).publishEvent(any(StorageChangedEvent.class));
+        assertThat(CatalogVersion.current()).isEqualTo(version);
+    }
+
+    @Test
+    void versionFromAuditIsSharedWithWritingInstance() {
+        var poller = new AuditChangePoller(repository, eventPublisher);
+        var write = change("Team", LocalDateTime.now().plusMinutes(1));
+        // the instance making the write registers it before other instances poll it
+        CatalogVersion.auditedAfterCompletion(write.getTime(), write.getId());
+        var version = CatalogVersion.current();
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of(write));
+
+        poller.poll();
+
+        assertThat(CatalogVersion.current()).isEqualTo(version);
+    }
+
+    @Test
+    void startFromLatestAudit() {
+        var poller = new AuditChangePoller(repository, eventPublisher);
+        var before = change("Team", LocalDateTime.now().plusMinutes(2));
+        when(repository.getLatestMetadata()).thenReturn(Optional.of(before));
+        when(repository.getAllMetadataSince(any())).thenReturn(List.of());
+        var version = CatalogVersion.current();
+
+        poller.poll();
+        var started = CatalogVersion.current();
+        poller.poll();
+
+        assertThat(started).isNotEqualTo(version).isEqualTo(CatalogVersion.current());
+        verify(repository, times(1)).getLatestMetadata();
+    }
+
+    private static AuditMetadata change(String type, LocalDateTime time) {
+        var id = UUID.randomUUID();
+        var tableId = UUID.randomUUID();
+        return new AuditMetadata() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getTime() {
+                return time;
+            }
+
+            @Override
+            public Action getAction() {
+                return Action.UPDATE;
+            }
+
+            @Override
+            public String getTableName() {
+                return type;
+            }
+
+            @Override
+            public UUID getTableId() {
+                return tableId;
+            }
+        };
+    }
+}
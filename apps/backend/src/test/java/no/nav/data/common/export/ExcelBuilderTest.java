@@ -0,0 +1,63 @@
+package no.nav.data.common.export;
+
+import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
+import org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart;
+import org.junit.jupiter.api.Test;
+import org.xlsx4j.sml.Cell;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelBuilderTest {
+
+    @Test
+    void writeReadableSpreadsheet() throws Exception {
+        var out = new ByteArrayOutputStream();
+        var doc = new ExcelBuilder("Sheet <1>", out);
+        doc.addRow().addCell("name").addCell("count");
+        doc.addRow().addCell("a & b").addCell(2);
+        doc.addRow().addCell((String) null).addCell((Number) null);
+        doc.finish();
+
+        var pack = SpreadsheetMLPackage.load(new ByteArrayInputStream(out.toByteArray()));
+        var sheet = (WorksheetPart) pack.getWorkbookPart().getRelationshipsPart().getPart("rId1");
+        var rows = sheet.getContents().getSheetData().getRow();
+
+        assertThat(rows).hasSize(3);
+        Cell text = rows.get(1).getC().get(0);
+        Cell number = rows.get(1).getC().get(1);
+        assertThat(text.getR()).isEqualTo("A2");
+        assertThat(text.getIs().getT().getValue()).isEqualTo("a & b");
+        assertThat(number.getR()).isEqualTo("B2");
+        assertThat(number.getV()).isEqualTo("2");
+    }
+
+    @Test
+    void columnName() {
+        assertThat(ExcelBuilder.columnName(0)).isEqualTo("A");
+        assertThat(ExcelBuilder.columnName(25)).isEqualTo("Z");
+        assertThat(ExcelBuilder.columnName(26)).isEqualTo("AA");
+        assertThat(ExcelBuilder.columnName(701)).isEqualTo("ZZ");
+        assertThat(ExcelBuilder.columnName(702)).isEqualTo("AAA");
+    }
+
+    @Test
+    void escapeInvalidXmlChars() throws Exception {
+        assertThat(ExcelBuilder.escape("a\u0000b\u001Fc\td")).isEqualTo("abc\td");
+        assertThat(ExcelBuilder.escape("a\uFFFEb\uFFFFc")).isEqualTo("abc");
+        // unpaired high and low surrogates, a pair is kept
+        assertThat(ExcelBuilder.escape("a\uD83Db\uDE00c\uD83D")).isEqualTo("abc");
+        assertThat(ExcelBuilder.escape("a\uD83D\uDE00b")).isEqualTo("a\uD83D\uDE00b");
+
+        var out = new ByteArrayOutputStream();
+        var doc = new ExcelBuilder("Sheet", out);
+        doc.addRow().addCell("x\uFFFF\uDE00\u0001y");
+        doc.finish();
+
+        var pack = SpreadsheetMLPackage.load(new ByteArrayInputStream(out.toByteArray()));
+        var sheet = (WorksheetPart) pack.getWorkbookPart().getRelationshipsPart().getPart("rId1");
+        assertThat(sheet.getContents().getSheetData().getRow().get(0).getC().get(0).getIs().getT().getValue()).isEqualTo("xy");
+    }
+}
@@ -0,0 +1,55 @@
+package no.nav.data.common.rest;
+
+import no.nav.data.common.rest.StreamingJson.Envelope;
+import no.nav.data.common.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonTest {
+
+    @Test
+    void page() throws Exception {
+        var response = new MockHttpServletResponse();
+        StreamingJson.writePage(Stream.of(Map.of("a", 1), Map.of("a", 2)), new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        var page = JsonUtils.getObjectMapper().readValue(response.getContentAsByteArray(), RestResponsePage.class);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getNumberOfElements()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.isPaged()).isFalse();
+    }
+
+    @Test
+    void field() throws Exception {
+        var response = new MockHttpServletResponse();
+        StreamingJson.write(Stream.of("x", "y"), Envelope.field("audits", "id", "1"), new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"1\",\"audits\":[\"x\",\"y\"]}");
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        var request = new MockHttpServletRequest();
+        request.addHeader("Accept", "application/x-ndjson, application/json");
+        var response = new MockHttpServletResponse();
+        StreamingJson.writePage(Stream.of(Map.of("a", 1), Map.of("a", 2)), request, response);
+
+        assertThat(response.getContentType()).isEqualTo(StreamingJson.NDJSON);
+        assertThat(response.getContentAsString()).isEqualTo("{\"a\":1}\n{\"a\":2}\n");
+    }
+
+    @Test
+    void acceptsNdjson() {
+        var request = new MockHttpServletRequest();
+        assertThat(StreamingJson.acceptsNdjson(request)).isFalse();
+        request.addHeader("Accept", "*/*");
+        assertThat(StreamingJson.acceptsNdjson(request)).isFalse();
+    }
+}
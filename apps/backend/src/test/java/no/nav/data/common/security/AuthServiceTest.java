@@ -0,0 +1,139 @@
+package no.nav.data.common.security;
+
+import no.nav.data.common.exceptions.UnauthorizedException;
+import no.nav.data.common.security.domain.Auth;
+import no.nav.data.common.security.domain.AuthRepository;
+import no.nav.data.common.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String KEY = "sessionkey";
+
+    @Mock
+    private AuthRepository repository;
+    @Mock
+    private Encryptor encryptor;
+
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    void cacheDecryptedSession() {
+        var service = new AuthService(repository, encryptor);
+        when(repository.findById(id)).thenReturn(Optional.of(auth("encrypted")));
+        when(encryptor.decrypt(KEY + "encrypted")).thenReturn("refresh");
+
+        var first = service.getAuth(sessionId(), KEY);
+        first.addAccessToken("token");
+        var second = service.getAuth(sessionId(), KEY);
+
+        assertThat(second.decryptRefreshToken()).isEqualTo("refresh");
+        assertThat(second.getUserId()).isEqualTo("user");
+        assertThat(second.session()).isEqualTo(first.session());
+        // each call gets its own Auth
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getAccessToken()).isNull();
+        verify(repository, times(1)).findById(id);
+        verify(encryptor, times(1)).decrypt(any());
+    }
+
+    @Test
+    void wrongKeyIsNotCached() {
+        var service = new AuthService(repository, encryptor);
+        when(repository.findById(id)).thenReturn(Optional.of(auth("encrypted")));
+        when(encryptor.decrypt("wrong" + "encrypted")).thenThrow(new IllegalStateException("bad key"));
+        when(encryptor.decrypt(KEY + "encrypted")).thenReturn("refresh");
+
+        assertThatThrownBy(() -> service.getAuth(sessionId(), "wrong")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.getAuth(sessionId(), "wrong")).isInstanceOf(IllegalStateException.class);
+        assertThat(service.getAuth(sessionId(), KEY).decryptRefreshToken()).isEqualTo("refresh");
+
+        verify(encryptor, times(2)).decrypt("wrong" + "encrypted");
+    }
+
+    @Test
+    void endSessionEvicts() {
+        var service = new AuthService(repository, encryptor);
+        var stored = auth("encrypted");
+        when(repository.findById(id)).thenReturn(Optional.of(stored));
+        when(encryptor.decrypt(KEY + "encrypted")).thenReturn("refresh");
+        service.getAuth(sessionId(), KEY);
+
+        service.endSession(id);
+
+        assertThat(stored.getEncryptedRefreshToken()).isEmpty();
+        assertThatThrownBy(() -> service.getAuth(sessionId(), KEY)).isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void flushLastActiveInOneWrite() {
+        var service = new AuthService(repository, encryptor);
+        var otherId = UUID.randomUUID();
+        var other = auth("other");
+        other.setId(otherId);
+        when(repository.findById(id)).thenReturn(Optional.of(auth("encrypted")));
+        when(repository.findById(otherId)).thenReturn(Optional.of(other));
+        when(encryptor.decrypt(any())).thenReturn("refresh");
+
+        service.getAuth(sessionId(), KEY);
+        service.getAuth(sessionId(), KEY);
+        service.getAuth(otherId.toString().replace("-", ""), KEY);
+        service.flushLastActive();
+        service.flushLastActive();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).updateLastActive(ids.capture(), any());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(id, otherId);
+    }
+
+    @Test
+    void noFlushWithoutActivity() {
+        new AuthService(repository, encryptor).flushLastActive();
+
+        verify(repository, never()).updateLastActive(anyCollection(), any());
+    }
+
+    @Test
+    void cleanOldAuth() {
+        new AuthService(repository, encryptor).cleanOldAuth();
+
+        var time = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteByLastActiveBefore(time.capture());
+        var expected = LocalDateTime.now().minus(Constants.SESSION_LENGTH).minusHours(1);
+        assertThat(time.getValue()).isBetween(expected.minusMinutes(1), expected);
+    }
+
+    private String sessionId() {
+        return id.toString().replace("-", "");
+    }
+
+    private Auth auth(String encryptedRefreshToken) {
+        return Auth.builder()
+                .id(id)
+                .userId("user")
+                .encryptedRefreshToken(encryptedRefreshToken)
+                .initiated(LocalDateTime.now())
+                .lastActive(LocalDateTime.now())
+                .build();
+    }
+}
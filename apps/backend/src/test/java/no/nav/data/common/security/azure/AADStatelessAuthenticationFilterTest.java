@@ -0,0 +1,140 @@
+package no.nav.data.common.security.azure;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.oauth2.sdk.id.Issuer;
+import com.nimbusds.openid.connect.sdk.SubjectType;
+import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
+import no.nav.data.common.security.AppIdMapping;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AADStatelessAuthenticationFilterTest {
+
+    private static final String ISSUER = "https://issuer.local";
+    private static final String CLIENT_ID = "client-id";
+
+    private static RSAKey signingKey;
+    private static RSAKey otherKey;
+
+    private final AtomicInteger keyLoads = new AtomicInteger();
+    private AADStatelessAuthenticationFilter filter;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("key").generate();
+        otherKey = new RSAKeyGenerator(2048).keyID("key").generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        var props = new AADAuthenticationProperties();
+        props.setClientId(CLIENT_ID);
+        var metadata = new OIDCProviderMetadata(new Issuer(ISSUER), List.of(SubjectType.PUBLIC), URI.create(ISSUER + "/keys"));
+        filter = new AADStatelessAuthenticationFilter(null, null, new AppIdMapping("[]", "appid"), props, url -> {
+            keyLoads.incrementAndGet();
+            return new Resource(new JWKSet(signingKey.toPublicJWK()).toString(), "application/json");
+        }, metadata);
+    }
+
+    @Test
+    void validToken() throws Exception {
+        var claims = filter.buildAndValidateClaims(token(expiresIn(Duration.ofMinutes(10))));
+
+        assertThat(claims.getSubject()).isEqualTo("subject");
+        assertThat(claims.getAudience()).containsExactly(CLIENT_ID);
+    }
+
+    @Test
+    void cacheHitSkipsVerification() throws Exception {
+        var token = token(expiresIn(Duration.ofMinutes(10)));
+
+        var first = filter.buildAndValidateClaims(token);
+        var second = filter.buildAndValidateClaims(token);
+
+        // a verified token is parsed into a new claims set
+        assertThat(second).isSameAs(first);
+        assertThat(keyLoads).hasValue(1);
+    }
+
+    @Test
+    void expiredToken() throws Exception {
+        var token = token(expiresIn(Duration.ofMinutes(-10)));
+
+        assertThatThrownBy(() -> filter.buildAndValidateClaims(token)).isInstanceOf(BadJWTException.class);
+    }
+
+    @Test
+    void wrongIssuer() throws Exception {
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, claims(expiresIn(Duration.ofMinutes(10))).issuer("https://other").build());
+
+        assertThatThrownBy(() -> filter.buildAndValidateClaims(token)).isInstanceOf(BadJWTException.class).hasMessageContaining("issuer");
+    }
+
+    @Test
+    void wrongAudience() throws Exception {
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, claims(expiresIn(Duration.ofMinutes(10))).audience("other").build());
+
+        assertThatThrownBy(() -> filter.buildAndValidateClaims(token)).isInstanceOf(BadJWTException.class).hasMessageContaining("audience");
+    }
+
+    @Test
+    void unsupportedAlgorithm() throws Exception {
+        var token = sign(new MACSigner(new byte[32]), JWSAlgorithm.HS256, claims(expiresIn(Duration.ofMinutes(10))).build());
+
+        assertThatThrownBy(() -> filter.buildAndValidateClaims(token)).isInstanceOf(BadJWTException.class).hasMessageContaining("Unsupported token algorithm");
+        assertThat(keyLoads).hasValue(0);
+    }
+
+    @Test
+    void unknownSigningKey() throws Exception {
+        var token = sign(new RSASSASigner(otherKey), JWSAlgorithm.RS256, claims(expiresIn(Duration.ofMinutes(10))).build());
+
+        assertThatThrownBy(() -> filter.buildAndValidateClaims(token)).isInstanceOf(BadJOSEException.class);
+    }
+
+    private static String token(Date expiry) throws JOSEException {
+        return sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, claims(expiry).build());
+    }
+
+    private static JWTClaimsSet.Builder claims(Date expiry) {
+        return new JWTClaimsSet.Builder()
+                .subject("subject")
+                .issuer(ISSUER)
+                .audience(CLIENT_ID)
+                .expirationTime(expiry);
+    }
+
+    private static String sign(JWSSigner signer, JWSAlgorithm alg, JWTClaimsSet claims) throws JOSEException {
+        var jwt = new SignedJWT(new JWSHeader.Builder(alg).keyID("key").build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private static Date expiresIn(Duration duration) {
+        return Date.from(Instant.now().plus(duration));
+    }
+}
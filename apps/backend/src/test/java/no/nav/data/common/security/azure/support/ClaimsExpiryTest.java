@@ -0,0 +1,51 @@
+package no.nav.data.common.security.azure.support;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaimsExpiryTest {
+
+    private final ClaimsExpiry expiry = new ClaimsExpiry();
+
+    @Test
+    void expired() {
+        assertThat(expireAfterCreate(expiresIn(Duration.ofMinutes(-1)))).isZero();
+    }
+
+    @Test
+    void untilExpiry() {
+        assertThat(expireAfterCreate(expiresIn(Duration.ofMinutes(10))))
+                .isBetween(Duration.ofMinutes(9).toNanos(), Duration.ofMinutes(10).toNanos());
+    }
+
+    @Test
+    void cappedAtOneHour() {
+        assertThat(expireAfterCreate(expiresIn(Duration.ofHours(3)))).isEqualTo(Duration.ofHours(1).toNanos());
+    }
+
+    @Test
+    void defaultWithoutExpiry() {
+        assertThat(expireAfterCreate(new JWTClaimsSet.Builder().subject("sub").build())).isEqualTo(Duration.ofMinutes(1).toNanos());
+    }
+
+    @Test
+    void readAndUpdateKeepExpiry() {
+        var claims = expiresIn(Duration.ofMinutes(10));
+        assertThat(expiry.expireAfterRead("key", claims, 0, 42)).isEqualTo(42);
+        assertThat(expiry.expireAfterUpdate("key", claims, 0, 42)).isEqualTo(42);
+    }
+
+    private long expireAfterCreate(JWTClaimsSet claims) {
+        return expiry.expireAfterCreate("key", claims, 0);
+    }
+
+    private static JWTClaimsSet expiresIn(Duration duration) {
+        return new JWTClaimsSet.Builder().expirationTime(Date.from(Instant.now().plus(duration))).build();
+    }
+}
@@ -0,0 +1,106 @@
+package no.nav.data.common.storage;
+
+import no.nav.data.common.storage.domain.GenericStorage;
+import no.nav.data.common.storage.domain.GenericStorageRepository;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.team.notify.domain.NotificationTask;
+import no.nav.data.team.team.domain.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DomainObjectCacheTest {
+
+    private static final String TEAM = TypeRegistration.typeOf(Team.class);
+
+    @Mock
+    private GenericStorageRepository repository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final DomainObjectCache cache = new DomainObjectCache();
+    private StorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new StorageService(repository, eventPublisher, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cacheHitReturnsCopies() {
+        when(repository.findAllByType(TEAM)).thenReturn(List.of(team("a")));
+
+        var first = storage.getAll(Team.class);
+        first.get(0).setName("changed");
+        var second = storage.getAll(Team.class);
+
+        assertThat(second.get(0).getName()).isEqualTo("a");
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+        verify(repository, times(1)).findAllByType(TEAM);
+    }
+
+    @Test
+    void uncachedType() {
+        var type = TypeRegistration.typeOf(NotificationTask.class);
+        when(repository.findAllByType(type)).thenReturn(List.of());
+
+        storage.getAll(NotificationTask.class);
+        storage.getAll(NotificationTask.class);
+
+        verify(repository, times(2)).findAllByType(type);
+    }
+
+    @Test
+    void invalidateOnStorageChanged() {
+        when(repository.findAllByType(TEAM)).thenReturn(List.of(team("a")));
+        storage.getAll(Team.class);
+
+        when(repository.findAllByType(TEAM)).thenReturn(List.of(team("b")));
+        cache.onStorageChanged(new StorageChangedEvent(TEAM, List.of()));
+
+        assertThat(storage.getAll(Team.class)).extracting(Team::getName).containsExactly("b");
+        verify(repository, times(2)).findAllByType(TEAM);
+    }
+
+    @Test
+    void bypassWhenWrittenInTransaction() {
+        when(repository.findAllByType(TEAM)).thenReturn(List.of(team("a")));
+        storage.getAll(Team.class);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.written(TEAM);
+        storage.getAll(Team.class);
+        storage.getAll(Team.class);
+        verify(repository, times(3)).findAllByType(TEAM);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        storage.getAll(Team.class);
+        verify(repository, times(3)).findAllByType(TEAM);
+    }
+
+    private static GenericStorage team(String name) {
+        return new GenericStorage().generateId().setDomainObjectData(Team.builder().name(name).build());
+    }
+}
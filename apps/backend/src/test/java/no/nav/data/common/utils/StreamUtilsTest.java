@@ -2,8 +2,10 @@ package no.nav.data.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static no.nav.data.common.utils.StreamUtils.distinctByKey;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,4 +19,18 @@ class StreamUtilsTest {
 
         assertThat(distinct).containsExactly("a", "b", "c", "A");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBatched() {
+        var calls = new ArrayList<Integer>();
+        var all = StreamUtils.<Integer>batched(2, last -> {
+            int from = last == null ? 0 : last + 1;
+            calls.add(from);
+            return IntStream.range(from, Math.min(from + 2, 5)).boxed().toList();
+        });
+        assertThat(calls).containsExactly(0);
+
+        assertThat(all.toList()).containsExactly(0, 1, 2, 3, 4);
+        assertThat(calls).containsExactly(0, 2, 4);
+    }
+}
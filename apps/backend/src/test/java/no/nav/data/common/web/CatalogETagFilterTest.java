@@ -0,0 +1,84 @@
+package no.nav.data.common.web;
+
+import no.nav.data.common.rest.StreamingJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogETagFilterTest {
+
+    private final CatalogETagFilter filter = new CatalogETagFilter();
+
+    @Test
+    void notModified() throws Exception {
+        var first = get("/team", null);
+        assertThat(first.response().getStatus()).isEqualTo(200);
+        assertThat(first.chain().getRequest()).isNotNull();
+        var etag = first.response().getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.response().getHeader("Vary")).isEqualTo("Accept");
+
+        var second = get("/team", etag);
+        assertThat(second.response().getStatus()).isEqualTo(304);
+        assertThat(second.response().getHeader("ETag")).isEqualTo(etag);
+        assertThat(second.chain().getRequest()).isNull();
+
+        CatalogVersion.bump();
+        var third = get("/team", etag);
+        assertThat(third.response().getStatus()).isEqualTo(200);
+        assertThat(third.response().getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void formatInTag() throws Exception {
+        var json = get("/team", null).response().getHeader("ETag");
+        var request = new MockHttpServletRequest("GET", "/team");
+        request.addHeader("Accept", StreamingJson.NDJSON);
+        request.addHeader("If-None-Match", json);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isNotEqualTo(json);
+    }
+
+    @Test
+    void onlyCatalogReads() throws Exception {
+        assertThat(get("/teams", null).response().getHeader("ETag")).isNull();
+        assertThat(get("/resource/search/x", null).response().getHeader("ETag")).isNull();
+        assertThat(get("/productarea/search/x", null).response().getHeader("ETag")).isNotNull();
+
+        var post = new MockHttpServletRequest("POST", "/team");
+        var response = new MockHttpServletResponse();
+        filter.doFilter(post, response, new MockFilterChain());
+        assertThat(response.getHeader("ETag")).isNull();
+    }
+
+    @Test
+    void matches() {
+        assertThat(CatalogETagFilter.matches("\"a-1\"", "\"a-1\"")).isTrue();
+        assertThat(CatalogETagFilter.matches("\"a-0\", W/\"a-1\"", "\"a-1\"")).isTrue();
+        assertThat(CatalogETagFilter.matches("\"a-1\"", "W/\"a-1\"")).isTrue();
+        assertThat(CatalogETagFilter.matches("*", "\"a-1\"")).isTrue();
+        assertThat(CatalogETagFilter.matches("\"a-0\"", "\"a-1\"")).isFalse();
+        assertThat(CatalogETagFilter.matches(null, "\"a-1\"")).isFalse();
+    }
+
+    private Result get(String path, String ifNoneMatch) throws Exception {
+        var request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return new Result(response, chain);
+    }
+
+    private record Result(MockHttpServletResponse response, MockFilterChain chain) {
+
+    }
+}
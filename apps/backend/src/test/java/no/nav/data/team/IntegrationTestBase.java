@@ -1,14 +1,17 @@
 package no.nav.data.team;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import no.nav.data.AppStarter;
 import no.nav.data.common.TeamCatalogProps;
 import no.nav.data.common.auditing.domain.AuditVersionRepository;
 import no.nav.data.common.security.azure.AzureTokenProvider;
+import no.nav.data.common.storage.DomainObjectCache;
 import no.nav.data.common.storage.StorageService;
 import no.nav.data.common.storage.domain.GenericStorageRepository;
 import no.nav.data.team.IntegrationTestBase.Initializer;
 import no.nav.data.team.location.LocationRepository;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.resource.NomClient;
 import no.nav.data.team.resource.domain.Resource;
 import no.nav.data.team.resource.dto.NomRessurs;
@@ -29,8 +32,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.testcontainers.containers.PostgreSQLContainer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -63,6 +68,10 @@ public abstract class IntegrationTestBase extends KafkaTestBase {
     protected JdbcTemplate jdbcTemplate;
     @Autowired
     protected LocationRepository locationRepository;
+    @Autowired
+    protected MembershipIndex membershipIndex;
+    @Autowired
+    protected DomainObjectCache domainObjectCache;
     @MockBean
     protected AzureTokenProvider tokenProvider;
     @MockBean
@@ -73,6 +82,8 @@ public abstract class IntegrationTestBase extends KafkaTestBase {
         repository.deleteAll();
         auditVersionRepository.deleteAll();
         nomClient.clear();
+        membershipIndex.invalidate();
+        domainObjectCache.invalidateAll();
         when(tokenProvider.getConsumerToken(anyString())).thenReturn("token");
     }
 
@@ -95,6 +106,23 @@ public abstract class IntegrationTestBase extends KafkaTestBase {
         return res.getBody();
     }
 
+    /**
+     * Follows nextCursor from the first page until the last, returning the content of all pages
+     */
+    protected List<JsonNode> getAllPages(String url, int limit) {
+        var content = new ArrayList<JsonNode>();
+        String cursor = null;
+        do {
+            var pageUrl = url + (url.contains("?") ? "&" : "?") + "limit=" + limit + (cursor == null ? "" : "&cursor=" + cursor);
+            var page = assertResponse(restTemplate.getForEntity(pageUrl, JsonNode.class));
+            assertThat(page.get("limit").asLong()).isEqualTo(limit);
+            assertThat(page.get("content").size()).isLessThanOrEqualTo(limit);
+            page.get("content").forEach(content::add);
+            cursor = page.path("nextCursor").isTextual() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return content;
+    }
+
     public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
 
         public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
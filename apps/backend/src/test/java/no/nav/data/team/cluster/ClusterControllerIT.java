@@ -20,6 +20,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -93,6 +94,32 @@ public class ClusterControllerIT extends IntegrationTestBase {
         assertThat(convert(resp3.getBody().getContent(), ClusterResponse::getName)).contains("name3");
     }
 
+    @Test
+    void getAllClustersPagedWithEqualNames() {
+        var ids = new ArrayList<UUID>();
+        for (String name : List.of("b", "a", "b", "c", "b")) {
+            ids.add(storageService.save(activeClusterBuilder(name).build()).getId());
+        }
+
+        var clusters = getAllPages("/cluster", 2);
+
+        assertThat(convert(clusters, c -> c.get("name").asText())).containsExactly("a", "b", "b", "b", "c");
+        assertThat(convert(clusters, c -> UUID.fromString(c.get("id").asText()))).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void getAllClustersPagedByProductAreaWithFields() {
+        var productAreaId = UUID.randomUUID();
+        storageService.save(activeClusterBuilder("name1").productAreaId(productAreaId).build());
+        storageService.save(activeClusterBuilder("name2").build());
+        storageService.save(activeClusterBuilder("name3").productAreaId(productAreaId).build());
+
+        var clusters = getAllPages("/cluster?productAreaId=" + productAreaId + "&fields=id,name", 1);
+
+        assertThat(convert(clusters, c -> c.get("name").asText())).containsExactly("name1", "name3");
+        clusters.forEach(c -> assertThat(c.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name"));
+    }
+
     @Test
     void getAllClustersInvalidStatusParameters() {
         storageService.save(activeClusterBuilder("name1").status(DomainObjectStatus.ACTIVE).build());
@@ -1,6 +1,5 @@
 package no.nav.data.team.dashboard;
 
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.val;
 import no.nav.data.team.IntegrationTestBase;
 import no.nav.data.team.cluster.domain.Cluster;
@@ -32,7 +31,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class DashboardControllerIT extends IntegrationTestBase {
 
     @Autowired
-    private LoadingCache<String, DashResponse> getDashCache;
+    private DashCacheProvider dashCacheProvider;
 
     public static final String RESSURSTYPE_EKSTERN = "EKSTERN";
     public static final String RESSURSTYPE_INTERN = "INTERN";
@@ -40,7 +39,7 @@ class DashboardControllerIT extends IntegrationTestBase {
 
     @AfterEach
     private void clearCache(){
-        getDashCache.invalidateAll();
+        dashCacheProvider.clear();
     }
 
 
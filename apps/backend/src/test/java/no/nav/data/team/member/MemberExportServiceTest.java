@@ -22,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -31,6 +32,7 @@ import static no.nav.data.team.TestDataHelper.createNavIdent;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 
 @Slf4j
 @ExtendWith({MockitoExtension.class, NomMock.class})
@@ -71,14 +73,14 @@ class MemberExportServiceTest {
 
     @Test
     void getAll() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.ALL, null);
+        var spreadsheet = generate(SpreadsheetType.ALL, null);
         assertThat(spreadsheet).isNotNull();
         write(spreadsheet);
     }
 
     @Test
     void getPa() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.AREA, paOne.getId().toString());
+        var spreadsheet = generate(SpreadsheetType.AREA, paOne.getId().toString());
         assertThat(spreadsheet).isNotNull();
         write(spreadsheet);
     }
@@ -86,29 +88,30 @@ class MemberExportServiceTest {
 
     @Test
     void getCluster() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.CLUSTER, clusterOne.getId().toString());
+        var spreadsheet = generate(SpreadsheetType.CLUSTER, clusterOne.getId().toString());
         assertThat(spreadsheet).isNotNull();
         write(spreadsheet);
     }
 
     @Test
     void getTeam() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.TEAM, teamOne.getId().toString());
+        var spreadsheet = generate(SpreadsheetType.TEAM, teamOne.getId().toString());
         assertThat(spreadsheet).isNotNull();
         write(spreadsheet);
     }
 
     @Test
     void getRole() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.ROLE, TeamRole.DEVELOPER.name());
+        var spreadsheet = generate(SpreadsheetType.ROLE, TeamRole.DEVELOPER.name());
         assertThat(spreadsheet).isNotNull();
         write(spreadsheet);
     }
 
     @Test
     void getLeader() throws Exception {
-        var spreadsheet = memberExportService.generateSpreadsheet(SpreadsheetType.LEADER, "A123456");
+        var spreadsheet = generate(SpreadsheetType.LEADER, "A123456");
         assertThat(spreadsheet).isNotNull();
+        verify(nomGraphClient).getLeaderMembersActiveOnly("A123456");
         write(spreadsheet);
     }
 
@@ -151,6 +154,12 @@ class MemberExportServiceTest {
                 .build();
     }
 
+    private byte[] generate(SpreadsheetType type, String filter) {
+        var out = new ByteArrayOutputStream();
+        memberExportService.generateSpreadsheet(type, filter, out);
+        return out.toByteArray();
+    }
+
     private void write(byte[] spreadsheet) throws Exception {
         Path tempFile = Files.createTempFile("spreadsheet", ".xlsx");
 //        Path tempFile = Paths.get("/Users/s143147/spreadsheet" + ((int) (Math.random() * 100)) + ".xlsx");
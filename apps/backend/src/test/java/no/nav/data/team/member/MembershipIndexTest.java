@@ -0,0 +1,143 @@
+package no.nav.data.team.member;
+
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.po.domain.PaMember;
+import no.nav.data.team.po.domain.ProductArea;
+import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.team.domain.Team;
+import no.nav.data.team.team.domain.TeamMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipIndexTest {
+
+    @Mock
+    private StorageService storage;
+
+    private MembershipIndex index;
+
+    private final Team team = team("S1", "S2");
+    private final ProductArea productArea = ProductArea.builder().id(UUID.randomUUID()).members(List.of(PaMember.builder().navIdent("S1").build())).build();
+
+    @BeforeEach
+    void setUp() {
+        index = new MembershipIndex(storage);
+        when(storage.getAll(Team.class)).thenReturn(List.of(team));
+        when(storage.getAll(ProductArea.class)).thenReturn(List.of(productArea));
+        when(storage.getAll(Cluster.class)).thenReturn(List.of());
+    }
+
+    @Test
+    void byIdent() {
+        var memberships = index.getMemberships("S1");
+
+        assertThat(memberships.teams()).containsExactly(team);
+        assertThat(memberships.productAreas()).containsExactly(productArea);
+        assertThat(memberships.clusters()).isEmpty();
+        assertThat(index.getMembered("S2")).containsExactly(team);
+        assertThat(index.getMembered("S3")).isEmpty();
+        assertThat(index.getMemberIdents()).containsExactlyInAnyOrder("S1", "S2");
+    }
+
+    @Test
+    void saveNew() {
+        index.init();
+        var created = team("S3");
+        when(storage.getAll(anyCollection(), eq(Team.class))).thenReturn(List.of(created));
+
+        index.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Team.class), List.of(created.getId())));
+
+        assertThat(index.getMembered("S3")).containsExactly(created);
+        assertThat(index.getTeams()).containsExactlyInAnyOrder(team, created);
+        // only the changed object is reloaded
+        verify(storage, times(1)).getAll(Team.class);
+        verify(storage).getAll(List.of(created.getId()), Team.class);
+    }
+
+    @Test
+    void memberChange() {
+        index.init();
+        var updated = team("S2", "S3");
+        updated.setId(team.getId());
+        when(storage.getAll(anyCollection(), eq(Team.class))).thenReturn(List.of(updated));
+
+        index.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Team.class), List.of(team.getId())));
+
+        assertThat(index.getMemberships("S1").teams()).isEmpty();
+        assertThat(index.getMemberships("S1").productAreas()).containsExactly(productArea);
+        assertThat(index.getMembered("S3")).containsExactly(updated);
+        assertThat(index.getMemberIdents()).containsExactlyInAnyOrder("S1", "S2", "S3");
+    }
+
+    @Test
+    void delete() {
+        index.init();
+        when(storage.getAll(anyCollection(), eq(Team.class))).thenReturn(List.of());
+
+        index.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Team.class), List.of(team.getId())));
+
+        assertThat(index.getTeams()).isEmpty();
+        assertThat(index.getMembered("S2")).isEmpty();
+        assertThat(index.getMemberIdents()).containsExactly("S1");
+    }
+
+    @Test
+    void ignoreOtherTypes() {
+        index.init();
+
+        index.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Resource.class), List.of(UUID.randomUUID())));
+        index.getTeams();
+
+        verify(storage, never()).getAll(anyCollection(), any());
+        verify(storage, times(1)).getAll(Team.class);
+    }
+
+    @Test
+    void rebuild() {
+        index.init();
+        var replaced = team("S4");
+        when(storage.getAll(Team.class)).thenReturn(List.of(replaced));
+
+        index.scheduledRebuild();
+
+        assertThat(index.getTeams()).containsExactly(replaced);
+        assertThat(index.getMemberIdents()).containsExactlyInAnyOrder("S1", "S4");
+    }
+
+    @Test
+    void rebuildOnEventWithoutIds() {
+        index.init();
+        when(storage.getAll(Team.class)).thenReturn(List.of());
+
+        index.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Team.class), List.of()));
+
+        assertThat(index.getTeams()).isEmpty();
+        verify(storage, times(2)).getAll(Team.class);
+    }
+
+    private static Team team(String... idents) {
+        return Team.builder()
+                .id(UUID.randomUUID())
+                .members(List.of(idents).stream().map(ident -> TeamMember.builder().navIdent(ident).build()).toList())
+                .build();
+    }
+}
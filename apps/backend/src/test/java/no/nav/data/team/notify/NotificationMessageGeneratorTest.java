@@ -25,16 +25,21 @@ import no.nav.data.team.team.domain.Team;
 import no.nav.data.team.team.domain.TeamMember;
 import no.nav.data.team.team.domain.TeamOwnershipType;
 import no.nav.data.team.team.domain.TeamType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.StreamSupport;
 
 import static no.nav.data.common.utils.StreamUtils.find;
 import static no.nav.data.team.TestDataHelper.createNavIdent;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +50,15 @@ class NotificationMessageGeneratorTest {
     private final SecurityProperties securityProperties = UrlGeneratorTestUtil.getSecurityProperties();
     private final StorageService storage = mock(StorageService.class);
     private final NotificationMessageGenerator generator = new NotificationMessageGenerator(auditVersionRepository, storage, UrlGeneratorTestUtil.get(), NomClient.getInstance());
+    private final Map<UUID, AuditVersion> audits = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(auditVersionRepository.findAllById(any())).thenAnswer(inv -> {
+            Iterable<UUID> ids = inv.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(audits::get).filter(Objects::nonNull).toList();
+        });
+    }
 
     @Test
     void update() {
@@ -334,7 +348,7 @@ class NotificationMessageGeneratorTest {
         gs.setDomainObjectData(domainObject);
         AuditVersion audit = AuditVersionListener.convertAuditVersion(gs, Action.CREATE);
         assert audit != null;
-        when(auditVersionRepository.findById(audit.getId())).thenReturn(Optional.of(audit));
+        audits.put(audit.getId(), audit);
         return audit;
     }
 
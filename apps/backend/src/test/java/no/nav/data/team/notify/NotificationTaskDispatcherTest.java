@@ -0,0 +1,121 @@
+package no.nav.data.team.notify;
+
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.team.notify.NotificationProperties.ChannelLimit;
+import no.nav.data.team.notify.domain.Notification.NotificationChannel;
+import no.nav.data.team.notify.domain.NotificationTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationTaskDispatcherTest {
+
+    @Mock
+    private NotificationService service;
+    @Mock
+    private StorageService storage;
+
+    private NotificationTaskDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void sendAndDelete() {
+        dispatcher = dispatcher(2, 1000, Duration.ofMinutes(1));
+        var tasks = tasks(NotificationChannel.EMAIL, 3);
+
+        var result = dispatcher.dispatch(tasks, 5);
+
+        assertThat(result).isEqualTo(new NotificationTaskDispatcher.Result(3, 0));
+        tasks.forEach(t -> verify(storage).delete(t));
+    }
+
+    @Test
+    void onlyTasksWithinRunBudget() {
+        // burst of 2, and no time to refill within the run
+        dispatcher = dispatcher(2, 1, Duration.ZERO);
+        var email = tasks(NotificationChannel.EMAIL, 3);
+        var slack = tasks(NotificationChannel.SLACK, 1);
+
+        var result = dispatcher.dispatch(List.of(email.get(0), email.get(1), email.get(2), slack.get(0)), 5);
+
+        assertThat(result.sent()).isEqualTo(3);
+        verify(service).notifyTask(email.get(0));
+        verify(service).notifyTask(email.get(1));
+        verify(service, never()).notifyTask(email.get(2));
+        verify(service).notifyTask(slack.get(0));
+    }
+
+    @Test
+    void skipNotDue() {
+        dispatcher = dispatcher(2, 1000, Duration.ofMinutes(1));
+        var task = tasks(NotificationChannel.EMAIL, 1).get(0);
+        task.setNextAttempt(LocalDateTime.now().plusMinutes(1));
+
+        var result = dispatcher.dispatch(List.of(task), 5);
+
+        assertThat(result.sent()).isZero();
+        verify(service, never()).notifyTask(any());
+    }
+
+    @Test
+    void stopAfterMaxErrors() {
+        // one thread, so the failed task completes before the next starts
+        dispatcher = dispatcher(1, 1000, Duration.ofMinutes(1));
+        var tasks = tasks(NotificationChannel.EMAIL, 3);
+        doThrow(new IllegalStateException("fail")).when(service).notifyTask(any());
+
+        var result = dispatcher.dispatch(tasks, 1);
+
+        assertThat(result).isEqualTo(new NotificationTaskDispatcher.Result(0, 1));
+        verify(service, times(1)).notifyTask(any());
+        verify(storage, never()).delete(any(NotificationTask.class));
+    }
+
+    @Test
+    void backoffOnError() {
+        dispatcher = dispatcher(1, 1000, Duration.ofMinutes(1));
+        var task = tasks(NotificationChannel.SLACK, 1).get(0);
+        task.setAttempts(2);
+        doThrow(new IllegalStateException("fail")).when(service).notifyTask(task);
+
+        dispatcher.dispatch(List.of(task), 5);
+
+        verify(storage).save(task);
+        assertThat(task.getAttempts()).isEqualTo(3);
+        assertThat(task.getNextAttempt()).isBetween(LocalDateTime.now().plusMinutes(7), LocalDateTime.now().plusMinutes(8));
+    }
+
+    private NotificationTaskDispatcher dispatcher(int concurrency, double permitsPerSecond, Duration maxRunTime) {
+        var properties = new NotificationProperties();
+        properties.getChannels().put(NotificationChannel.EMAIL, new ChannelLimit(concurrency, permitsPerSecond));
+        properties.getChannels().put(NotificationChannel.SLACK, new ChannelLimit(concurrency, permitsPerSecond));
+        properties.setMaxRunTime(maxRunTime);
+        return new NotificationTaskDispatcher(service, storage, properties);
+    }
+
+    private static List<NotificationTask> tasks(NotificationChannel channel, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> NotificationTask.builder().id(UUID.randomUUID()).ident("S12345" + i).channel(channel).build())
+                .toList();
+    }
+}
@@ -0,0 +1,49 @@
+package no.nav.data.team.notify;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void burstThenRate() {
+        var bucket = new TokenBucket(2, 2, clock::get);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(SECOND / 2);
+        assertThat(bucket.reserve()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillUpToBurst() {
+        var bucket = new TokenBucket(1, 2, clock::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.addAndGet(10 * SECOND);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void releaseUnusedPermit() {
+        var bucket = new TokenBucket(1, 1, clock::get);
+        bucket.reserve();
+        assertThat(bucket.reserve()).isEqualTo(SECOND);
+
+        bucket.release();
+
+        assertThat(bucket.reserve()).isEqualTo(SECOND);
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -106,6 +107,32 @@ public class ProductAreaControllerIT extends IntegrationTestBase {
         assertThat(convert(resp3.getBody().getContent(), ProductAreaResponse::getName)).contains("name3");
     }
 
+    @Test
+    void getAllProductAreasPagedWithEqualNames() {
+        var ids = new ArrayList<UUID>();
+        for (String name : List.of("b", "a", "b", "b")) {
+            ids.add(storageService.save(activePoBuilder(name).build()).getId());
+        }
+        storageService.save(activePoBuilder("b").status(DomainObjectStatus.INACTIVE).build());
+
+        var productAreas = getAllPages("/productarea?status=ACTIVE", 2);
+
+        assertThat(convert(productAreas, pa -> pa.get("name").asText())).containsExactly("a", "b", "b", "b");
+        assertThat(convert(productAreas, pa -> UUID.fromString(pa.get("id").asText()))).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(getAllPages("/productarea", 5)).hasSize(5);
+    }
+
+    @Test
+    void getAllProductAreasPagedWithFields() {
+        storageService.save(activePoBuilder("name1").build());
+        storageService.save(activePoBuilder("name2").build());
+
+        var productAreas = getAllPages("/productarea?fields=id,name,status", 1);
+
+        assertThat(convert(productAreas, pa -> pa.get("name").asText())).containsExactly("name1", "name2");
+        productAreas.forEach(pa -> assertThat(pa.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name", "status"));
+    }
+
     @Test
     void getAllProductAreasInvalidStatusParameter() {
         storageService.save(activePoBuilder("name1").build());
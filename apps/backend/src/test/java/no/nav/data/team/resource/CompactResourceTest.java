@@ -0,0 +1,82 @@
+package no.nav.data.team.resource;
+
+import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactResourceTest {
+
+    @Test
+    void roundTrip() {
+        var resource = Resource.builder()
+                .id(UUID.randomUUID())
+                .resourceHashCode(42)
+                .partition(2)
+                .offset(1234L)
+                .readTime(ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                .navIdent("S123456")
+                .givenName("Ola Nils")
+                .familyName("Normann")
+                .fullName("Ola Nils Normann")
+                .email("ola.nils.normann@nav.no")
+                .onLeave(true)
+                .resourceType(ResourceType.OTHER)
+                .originalResourceType("ANNEN_STAT")
+                .startDate(LocalDate.of(2020, 1, 1))
+                .build();
+
+        assertThat(new CompactResource(resource).toResource()).isEqualTo(resource);
+    }
+
+    @Test
+    void roundTripMissingValues() {
+        var resource = Resource.builder()
+                .navIdent("S123456")
+                .givenName("Ola")
+                .familyName("Normann")
+                .build();
+
+        assertThat(new CompactResource(resource).toResource()).isEqualTo(resource);
+    }
+
+    @Test
+    void keepNonDerivedValues() {
+        var resource = Resource.builder()
+                .navIdent("S123456")
+                .givenName("Ola")
+                .familyName("Normann")
+                .fullName("Normann, Ola")
+                .email("Ola.Normann@nav.no")
+                .build();
+
+        var compact = new CompactResource(resource);
+        assertThat(compact.getEmail()).isEqualTo("Ola.Normann@nav.no");
+        assertThat(compact.toResource()).isEqualTo(resource);
+    }
+
+    @Test
+    void deriveOnce() {
+        var resource = Resource.builder()
+                .navIdent("S123456")
+                .givenName("Ola Nils")
+                .familyName("Normann")
+                .fullName("Ola Nils Normann")
+                .email("ola.nils.normann@nav.no")
+                .build();
+
+        var compact = new CompactResource(resource);
+        var response = compact.toResponse();
+
+        assertThat(response.getFullName()).isEqualTo("Ola Nils Normann");
+        assertThat(response.getEmail()).isEqualTo("ola.nils.normann@nav.no");
+        assertThat(compact.toResponse().getFullName()).isSameAs(response.getFullName());
+        assertThat(compact.toResponse().getEmail()).isSameAs(response.getEmail());
+    }
+}
@@ -1,17 +1,27 @@
 package no.nav.data.team.resource;
 
 import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.storage.domain.GenericStorage;
 import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.resource.domain.ResourceRepository;
+import no.nav.data.team.resource.domain.ResourceType;
 import no.nav.data.team.resource.dto.NomRessurs;
+import no.nav.data.team.resource.dto.ResourceResponse;
 import no.nav.data.team.settings.SettingsService;
+import no.nav.data.team.settings.dto.Settings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static no.nav.data.team.TestDataHelper.createResource;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,18 +36,22 @@ class NomClientTest {
     private SettingsService settingsService;
     @Mock
     private ResourceRepository resourceRepository;
+    @Mock
+    private MembershipIndex membershipIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private NomClient client;
 
     @BeforeEach
     void setup() {
-        client = new NomClient(storage, settingsService, resourceRepository);
+        client = new NomClient(storage, settingsService, resourceRepository, membershipIndex, eventPublisher, new NomIngestProperties());
         client.clear();
     }
 
     private void verify(String searchString, String... results) {
-        List<Resource> content = client.search(searchString).getContent();
-        assertThat(content.stream().map(Resource::getFamilyName))
+        List<ResourceResponse> content = client.search(searchString).getContent();
+        assertThat(content.stream().map(ResourceResponse::getFamilyName))
                 .containsExactly(results);
     }
 
@@ -79,7 +93,7 @@ class NomClientTest {
                 createResource("Family", "Given", "S123456")
         ));
         var searchString = "Given";
-        List<Resource> content = client.search(searchString).getContent();
+        List<ResourceResponse> content = client.search(searchString).getContent();
 
         assertThat(content).hasSize(1);
         assertThat(content.get(0).getNavIdent()).isEqualTo("S123456");
@@ -211,6 +225,109 @@ class NomClientTest {
 
     }
 
+    @Test
+    void searchWithFilters() {
+        when(storage.getAll(Resource.class)).thenReturn(List.of());
+        NomRessurs internal = createResource("Smarty", "André", "S123461");
+        internal.setRessurstype("INTERN");
+        NomRessurs inactive = createResource("Smartyer", "André martus", "S123462");
+        inactive.setSluttdato(LocalDate.now().minusDays(1));
+        client.add(List.of(createResource("Peterson", "Andrew", "S123457"), internal, inactive));
+
+        assertThat(search("andre", ResourceType.INTERNAL, null)).containsExactly("Smarty");
+        assertThat(search("andre", ResourceType.EXTERNAL, null)).containsExactlyInAnyOrder("Peterson", "Smartyer");
+        assertThat(search("andre", null, true)).containsExactlyInAnyOrder("Peterson", "Smarty");
+        assertThat(search("andre", null, false)).containsExactly("Smartyer");
+
+        when(settingsService.getSettingsCached()).thenReturn(Settings.builder().identFilter(List.of("S123461")).build());
+        assertThat(search("andre", null, true)).containsExactly("Peterson");
+    }
+
+    @Test
+    void searchBoostsMembers() {
+        when(storage.getAll(Resource.class)).thenReturn(List.of());
+        client.add(List.of(
+                createResource("Smarty", "André", "S123461"),
+                createResource("Smartyer", "André", "S123462")
+        ));
+        assertThat(search("andre", null, null)).containsExactly("Smarty", "Smartyer");
+
+        when(membershipIndex.getMemberIdents()).thenReturn(Set.of("S123462"));
+        assertThat(search("andre", null, null)).containsExactly("Smartyer", "Smarty");
+
+        // same members in a new set
+        when(membershipIndex.getMemberIdents()).thenReturn(new HashSet<>(Set.of("S123462")));
+        assertThat(search("andre", null, null)).containsExactly("Smartyer", "Smarty");
+
+        when(membershipIndex.getMemberIdents()).thenReturn(Set.of("S123461"));
+        assertThat(search("andre", null, null)).containsExactly("Smarty", "Smartyer");
+
+        when(membershipIndex.getMemberIdents()).thenReturn(Set.of());
+        assertThat(search("andre", null, null)).containsExactly("Smarty", "Smartyer");
+    }
+
+    @Test
+    void loadFromDatabaseOnce() {
+        when(storage.getAll(Resource.class)).thenReturn(List.of());
+        client.add(List.of(createResource("Smarty", "André", "S123461")));
+        client.add(List.of(createResource("Smartyer", "André", "S123462")));
+        client.warmStart();
+        Mockito.verify(storage, Mockito.times(1)).getAll(Resource.class);
+
+        client.clear();
+        client.add(List.of(createResource("Smarty", "André", "S123461")));
+        Mockito.verify(storage, Mockito.times(2)).getAll(Resource.class);
+    }
+
+    private List<String> search(String searchString, ResourceType type, Boolean active) {
+        return client.search(searchString, type, active).getContent().stream().map(ResourceResponse::getFamilyName).toList();
+    }
+
+    @Test
+    void suggest() {
+        when(storage.getAll(Resource.class)).thenReturn(List.of());
+        NomRessurs otherResourceType = createResource("Other", "Andre", "S123463");
+        otherResourceType.setRessurstype("ANNEN_STAT");
+        client.add(List.of(
+                createResource("Peterson", "Andrew", "S123457"),
+                createResource("Smarty", "André", "S123461"),
+                createResource("Smartyer", "André martus", "S123462"),
+                otherResourceType
+        ));
+
+        assertThat(suggest("and", 10)).containsExactly("Smarty", "Peterson", "Smartyer");
+        assertThat(suggest("andre", 10)).containsExactly("Smarty", "Smartyer", "Peterson");
+        assertThat(suggest("sma mar", 10)).containsExactly("Smartyer");
+        assertThat(suggest("pet", 10)).containsExactly("Peterson");
+        assertThat(suggest("and", 1)).containsExactly("Smarty");
+        assertThat(suggest("and", 2)).containsExactly("Smarty", "Peterson");
+        // one edit away
+        assertThat(suggest("smrty", 10)).containsExactly("Smarty", "Smartyer");
+        assertThat(suggest("petrson andr", 10)).containsExactly("Peterson");
+        assertThat(suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void resolveAll() {
+        when(storage.getAll(Resource.class)).thenReturn(List.of());
+        client.add(List.of(
+                createResource("Peterson", "Andrew", "S123457"),
+                createResource("Smarty", "André", "S123461")
+        ));
+        var stored = new GenericStorage().generateId().setDomainObjectData(Resource.builder().navIdent("S123458").familyName("Stored").build());
+        when(resourceRepository.findByIdents(List.of("S123458"))).thenReturn(List.of(stored));
+
+        var resources = client.resolveAll(List.of("s123457", "S123458", "S123457"));
+
+        assertThat(resources).containsOnlyKeys("S123457", "S123458");
+        assertThat(resources.get("S123457").getFamilyName()).isEqualTo("Peterson");
+        assertThat(resources.get("S123458").getFamilyName()).isEqualTo("Stored");
+    }
+
+    private List<String> suggest(String input, int limit) {
+        return client.suggest(input, limit).stream().map(ResourceResponse::getFamilyName).toList();
+    }
+
     @Test
     void badInputHandledOk() {
         when(storage.getAll(Resource.class)).thenReturn(List.of());
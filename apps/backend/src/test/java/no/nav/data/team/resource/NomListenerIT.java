@@ -1,16 +1,22 @@
 package no.nav.data.team.resource;
 
 import no.nav.data.common.utils.JsonUtils;
-import no.nav.data.team.IntegrationTestBase;import no.nav.data.team.resource.dto.NomRessurs;
+import no.nav.data.team.IntegrationTestBase;import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceRepository;
+import no.nav.data.team.resource.dto.NomRessurs;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static no.nav.data.team.TestDataHelper.createNavIdent;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -24,6 +30,8 @@ class NomListenerIT extends IntegrationTestBase {
 
     @Autowired
     private NomClient client;
+    @Autowired
+    private ResourceRepository resourceRepository;
 
     @Test
     void readResources() {
@@ -42,6 +50,72 @@ class NomListenerIT extends IntegrationTestBase {
         await().untilAsserted(() -> assertThat(client.search(ressurs.getEtternavn()).getPageSize()).isEqualTo(1));
     }
 
+    @Test
+    void replayKeepsOneRowPerIdent() {
+        var ident = createNavIdent(0);
+        for (String name : List.of("First", "Second", "Third")) {
+            var ressurs = createRessurs(0);
+            ressurs.setEtternavn(name);
+            stringTemplate.send(topic, "1", JsonUtils.toJson(ressurs));
+        }
+
+        await().untilAsserted(() -> assertThat(resourceRepository.findByIdent(ident)).hasValueSatisfying(gs -> assertThat(gs.toResource().getFamilyName()).isEqualTo("Third")));
+        assertThat(resourceRepository.findByIdents(List.of(ident))).hasSize(1);
+        assertThat(client.countDb()).isEqualTo(1);
+    }
+
+    @Test
+    void upsertOnlyReplacesWithHigherOffset() {
+        var ident = createNavIdent(0);
+        resourceRepository.upsert(List.of(resource(ident, "First", 5), resource(createNavIdent(1), "Other", 1)));
+        var id = resourceRepository.findByIdent(ident).orElseThrow().getId();
+
+        resourceRepository.upsert(List.of(resource(ident, "Replayed", 3)));
+        assertThat(resourceRepository.findByIdent(ident).orElseThrow().toResource().getFamilyName()).isEqualTo("First");
+
+        resourceRepository.upsert(List.of(resource(ident, "Newer", 7)));
+        var stored = resourceRepository.findByIdent(ident).orElseThrow();
+        assertThat(stored.getId()).isEqualTo(id);
+        assertThat(stored.toResource().getId()).isEqualTo(id);
+        assertThat(stored.toResource().getFamilyName()).isEqualTo("Newer");
+        assertThat(stored.toResource().getOffset()).isEqualTo(7);
+
+        assertThat(resourceRepository.count()).isEqualTo(2);
+        assertThat(resourceRepository.findByIdents(List.of(ident, createNavIdent(1)))).hasSize(2);
+    }
+
+    @Test
+    void migrationRemovesDuplicateIdents() throws IOException {
+        var ident = createNavIdent(0);
+        jdbcTemplate.execute("drop index gs_resource_ident_idx");
+        insertResource(resource(ident, "Older", 3));
+        insertResource(resource(ident, "Newest", 9));
+        insertResource(resource(ident, "Old", 5));
+        insertResource(resource(createNavIdent(1), "Other", 1));
+        assertThat(resourceRepository.findByIdents(List.of(ident))).hasSize(3);
+
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V1.15__resource_ident_unique.sql").getContentAsString(UTF_8));
+
+        assertThat(resourceRepository.findByIdents(List.of(ident))).hasSize(1);
+        assertThat(resourceRepository.findByIdent(ident).orElseThrow().toResource().getFamilyName()).isEqualTo("Newest");
+        assertThat(resourceRepository.count()).isEqualTo(2);
+        resourceRepository.upsert(List.of(resource(ident, "Newer", 10)));
+        assertThat(resourceRepository.findByIdents(List.of(ident))).hasSize(1);
+    }
+
+    private void insertResource(Resource resource) {
+        resource.setId(UUID.randomUUID());
+        jdbcTemplate.update("insert into generic_storage (id, type, data, created_by, created_date) values (?, 'Resource', cast(? as jsonb), 'test', now())",
+                resource.getId(), JsonUtils.toJson(resource));
+    }
+
+    private Resource resource(String ident, String familyName, long offset) {
+        var ressurs = createRessurs(0).addKafkaData(0, offset);
+        ressurs.setNavident(ident);
+        ressurs.setEtternavn(familyName);
+        return new Resource(ressurs);
+    }
+
     private NomRessurs createRessurs(int i) {
         return NomRessurs.builder()
                 .fornavn("Fornavn")
@@ -1,11 +1,13 @@
 package no.nav.data.team.resource;
 
 import no.nav.data.common.storage.StorageService;
+import no.nav.data.team.member.MembershipIndex;
 import no.nav.data.team.resource.domain.ResourceRepository;
 import no.nav.data.team.settings.SettingsService;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.Extension;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 
@@ -26,7 +28,8 @@ public class NomMock implements Extension, BeforeAllCallback {
 
         public Mocker() {
             ResourceRepository resourceRepository = mock(ResourceRepository.class);
-            NomClient client = new NomClient(mock(StorageService.class), mock(SettingsService.class), resourceRepository);
+            NomClient client = new NomClient(mock(StorageService.class), mock(SettingsService.class), resourceRepository, mock(MembershipIndex.class),
+                    mock(ApplicationEventPublisher.class), new NomIngestProperties());
             lenient().when(resourceRepository.findByIdents(anyList())).thenReturn(List.of());
 
             client.add(List.of(
@@ -0,0 +1,94 @@
+package no.nav.data.team.resource;
+
+import no.nav.data.team.resource.domain.Resource;
+import no.nav.data.team.resource.domain.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceSuggesterTest {
+
+    private final ResourceSuggester suggester = new ResourceSuggester();
+
+    @BeforeEach
+    void setUp() {
+        suggester.put(resource("S1", "Anders", "Berg"));
+        suggester.put(resource("S2", "Andreas", "Bergersen"));
+        suggester.put(resource("S3", "Ola", "Andersen"));
+        suggester.put(Resource.builder().navIdent("S4").givenName("Other").familyName("Anders").resourceType(ResourceType.OTHER).build());
+    }
+
+    @Test
+    void oneEdit() {
+        assertThat(ResourceSuggester.oneEdit("", "")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("", "a")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("", "ab")).isFalse();
+        assertThat(ResourceSuggester.oneEdit("berg", "berg")).isTrue();
+        // substitution first, middle and last
+        assertThat(ResourceSuggester.oneEdit("berg", "aerg")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("berg", "bexg")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("berg", "berx")).isTrue();
+        // insertion and deletion, both argument orders
+        assertThat(ResourceSuggester.oneEdit("berg", "xberg")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("berg", "bergx")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("bergx", "berg")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("brg", "berg")).isTrue();
+        assertThat(ResourceSuggester.oneEdit("berg", "brg")).isTrue();
+        // two edits
+        assertThat(ResourceSuggester.oneEdit("berg", "ebrg")).isFalse();
+        assertThat(ResourceSuggester.oneEdit("berg", "bxrx")).isFalse();
+        assertThat(ResourceSuggester.oneEdit("berg", "bergxx")).isFalse();
+        assertThat(ResourceSuggester.oneEdit("berg", "xbergx")).isFalse();
+        assertThat(ResourceSuggester.oneEdit("berg", "bxgx")).isFalse();
+    }
+
+    @Test
+    void oneEditPrefix() {
+        assertThat(ResourceSuggester.oneEditPrefix("andersen", "andre")).isTrue();
+        assertThat(ResourceSuggester.oneEditPrefix("andersen", "anders")).isTrue();
+        assertThat(ResourceSuggester.oneEditPrefix("andersen", "anxers")).isTrue();
+        assertThat(ResourceSuggester.oneEditPrefix("andersen", "andxxs")).isFalse();
+        // the whole term may be one edit from the input
+        assertThat(ResourceSuggester.oneEditPrefix("and", "andr")).isTrue();
+        assertThat(ResourceSuggester.oneEditPrefix("an", "andr")).isFalse();
+        assertThat(ResourceSuggester.oneEditPrefix("berg", "")).isTrue();
+    }
+
+    @Test
+    void rankExactThenPrefixThenFuzzy() {
+        assertThat(suggester.suggest("anders", 10, ident -> true)).containsExactly("S1", "S3");
+        assertThat(suggester.suggest("berg", 10, ident -> true)).containsExactly("S1", "S2");
+        assertThat(suggester.suggest("ander", 10, ident -> true)).containsExactly("S1", "S3", "S2");
+        assertThat(suggester.suggest("ander", 2, ident -> true)).containsExactly("S1", "S3");
+        // swapped letters are two edits
+        assertThat(suggester.suggest("andres", 10, ident -> true)).containsExactly("S2");
+    }
+
+    @Test
+    void allWordsMustMatch() {
+        assertThat(suggester.suggest("ola and", 10, ident -> true)).containsExactly("S3");
+        assertThat(suggester.suggest("ola berg", 10, ident -> true)).isEmpty();
+    }
+
+    @Test
+    void minimumPrefixLength() {
+        assertThat(suggester.suggest("a", 10, ident -> true)).isEmpty();
+        assertThat(suggester.suggest("a b", 10, ident -> true)).isEmpty();
+        assertThat(suggester.suggest("an b", 10, ident -> true)).containsExactly("S1", "S2");
+    }
+
+    @Test
+    void filterAndRemove() {
+        assertThat(suggester.suggest("berg", 10, ident -> !ident.equals("S1"))).containsExactly("S2");
+
+        suggester.put(resource("S1", "Anders", "Dahl"));
+
+        assertThat(suggester.suggest("berg", 10, ident -> true)).containsExactly("S2");
+        assertThat(suggester.suggest("dahl", 10, ident -> true)).containsExactly("S1");
+    }
+
+    private static Resource resource(String ident, String givenName, String familyName) {
+        return Resource.builder().navIdent(ident).givenName(givenName).familyName(familyName).resourceType(ResourceType.INTERNAL).build();
+    }
+}
@@ -0,0 +1,126 @@
+package no.nav.data.team.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import no.nav.data.common.exceptions.ValidationException;
+import no.nav.data.common.rest.StreamingJson;
+import no.nav.data.common.storage.StorageService;
+import no.nav.data.common.storage.domain.ChangeStamp;
+import no.nav.data.common.utils.JsonUtils;
+import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.cluster.domain.ClusterMember;
+import no.nav.data.team.notify.UrlGeneratorTestUtil;
+import no.nav.data.team.resource.NomMock;
+import no.nav.data.team.shared.CatalogListing.ListParams;
+import no.nav.data.team.shared.domain.DomainObjectStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static no.nav.data.team.TestDataHelper.createNavIdent;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(NomMock.class)
+class CatalogListingTest {
+
+    private final StorageService storage = mock(StorageService.class);
+    private final CatalogProjectionRepository repository = mock(CatalogProjectionRepository.class);
+    private final CatalogListing listing = new CatalogListing(storage, repository, new ResponseFragmentCache());
+
+    private final Cluster a = cluster("A");
+    private final Cluster b = cluster("B");
+    private final Cluster c = cluster("C");
+    private final CatalogFilter filter = CatalogFilter.of(Cluster.class).status(List.of(DomainObjectStatus.ACTIVE)).build();
+
+    @BeforeAll
+    static void beforeAll() {
+        UrlGeneratorTestUtil.get();
+    }
+
+    @Test
+    void cursorPage() throws Exception {
+        when(repository.find(eq(filter), isNull(), eq(3))).thenReturn(List.of(key(a), key(b), key(c)));
+        when(storage.getAll(anyCollection(), eq(Cluster.class))).thenReturn(List.of(b, a));
+
+        var page = write(new ListParams(null, 2, null));
+
+        assertThat(page.get("limit").asInt()).isEqualTo(2);
+        assertThat(page.get("content")).hasSize(2);
+        assertThat(page.get("content").get(0).get("name").asText()).isEqualTo("A");
+        assertThat(page.get("content").get(1).get("members").get(0).get("resource").get("familyName").asText()).isEqualTo("Normann");
+        assertThat(CatalogCursor.decode(page.get("nextCursor").asText())).isEqualTo(key(b));
+
+        when(repository.find(filter, key(b), 3)).thenReturn(List.of(key(c)));
+        when(storage.getAll(anyCollection(), eq(Cluster.class))).thenReturn(List.of(c));
+
+        var last = write(new ListParams(page.get("nextCursor").asText(), 2, null));
+        assertThat(last.get("content").get(0).get("name").asText()).isEqualTo("C");
+        assertThat(last.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void fields() throws Exception {
+        when(storage.getAll(Cluster.class)).thenReturn(List.of(a, b, c));
+        when(repository.find(filter, null, null)).thenReturn(List.of(key(a), key(c)));
+
+        var page = write(new ListParams(null, null, "id, name"));
+
+        assertThat(page.get("totalElements").asInt()).isEqualTo(2);
+        var first = page.get("content").get(0);
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.get("id").asText()).isEqualTo(a.getId().toString());
+        assertThat(page.get("content").get(1).get("name").asText()).isEqualTo("C");
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        when(storage.getAll(Cluster.class)).thenReturn(List.of(a, b));
+        var request = new MockHttpServletRequest();
+        request.addHeader("Accept", StreamingJson.NDJSON);
+        var response = new MockHttpServletResponse();
+
+        listing.write(Cluster.class, CatalogFilter.of(Cluster.class).build(), new ListParams(null, null, null), Cluster::convertToResponse, request, response);
+
+        assertThat(response.getContentType()).isEqualTo(StreamingJson.NDJSON);
+        var lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(JsonUtils.getObjectMapper().readTree(lines[1]).get("name").asText()).isEqualTo("B");
+    }
+
+    @Test
+    void invalidParams() {
+        assertThatThrownBy(() -> write(new ListParams(null, 0, null))).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> write(new ListParams("x", null, null))).isInstanceOf(ValidationException.class);
+    }
+
+    private JsonNode write(ListParams params) throws Exception {
+        var response = new MockHttpServletResponse();
+        listing.write(Cluster.class, filter, params, Cluster::convertToResponse, new MockHttpServletRequest(), response);
+        return JsonUtils.getObjectMapper().readTree(response.getContentAsByteArray());
+    }
+
+    private static CatalogCursor key(Cluster cluster) {
+        return new CatalogCursor(cluster.getName(), cluster.getId());
+    }
+
+    private static Cluster cluster(String name) {
+        return Cluster.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .status(DomainObjectStatus.ACTIVE)
+                .members(List.of(ClusterMember.builder().navIdent(createNavIdent(100)).build()))
+                .changeStamp(new ChangeStamp("user", LocalDateTime.now(), "user", LocalDateTime.now()))
+                .build();
+    }
+}
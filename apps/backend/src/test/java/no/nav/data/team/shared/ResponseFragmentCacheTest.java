@@ -0,0 +1,99 @@
+package no.nav.data.team.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import no.nav.data.common.storage.StorageChangedEvent;
+import no.nav.data.common.storage.domain.ChangeStamp;
+import no.nav.data.common.storage.domain.TypeRegistration;
+import no.nav.data.common.utils.JsonUtils;
+import no.nav.data.team.cluster.domain.Cluster;
+import no.nav.data.team.cluster.domain.ClusterMember;
+import no.nav.data.team.notify.UrlGeneratorTestUtil;
+import no.nav.data.team.resource.NomMock;
+import no.nav.data.team.resource.ResourcesChangedEvent;
+import no.nav.data.team.settings.dto.Settings;
+import no.nav.data.team.shared.domain.DomainObjectStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static no.nav.data.team.TestDataHelper.createNavIdent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(NomMock.class)
+class ResponseFragmentCacheTest {
+
+    private static final LocalDateTime modified = LocalDateTime.now();
+
+    private final ResponseFragmentCache cache = new ResponseFragmentCache();
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeAll
+    static void beforeAll() {
+        UrlGeneratorTestUtil.get();
+    }
+
+    @Test
+    void writePage() throws Exception {
+        var other = cluster(UUID.randomUUID(), "Other");
+        var page = write(cluster(id, "Cluster"), other);
+
+        assertThat(page.get("totalElements").asInt()).isEqualTo(2);
+        assertThat(page.get("paged").asBoolean()).isFalse();
+        assertThat(page.get("content").get(0).get("name").asText()).isEqualTo("Cluster");
+        assertThat(page.get("content").get(0).get("members").get(0).get("resource").get("familyName").asText()).isEqualTo("Normann");
+        assertThat(page.get("content").get(1).get("name").asText()).isEqualTo("Other");
+    }
+
+    @Test
+    void invalidateOnChange() throws Exception {
+        write(cluster(id, "Cluster"));
+        assertThat(name(write(cluster(id, "Changed")))).isEqualTo("Cluster");
+
+        cache.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Cluster.class), List.of(id)));
+        assertThat(name(write(cluster(id, "Changed")))).isEqualTo("Changed");
+
+        cache.onResourcesChanged(new ResourcesChangedEvent(List.of(createNavIdent(101))));
+        assertThat(name(write(cluster(id, "Other member")))).isEqualTo("Changed");
+
+        cache.onResourcesChanged(new ResourcesChangedEvent(List.of(createNavIdent(100))));
+        assertThat(name(write(cluster(id, "Member changed")))).isEqualTo("Member changed");
+
+        cache.onStorageChanged(new StorageChangedEvent(TypeRegistration.typeOf(Settings.class), List.of(UUID.randomUUID())));
+        assertThat(name(write(cluster(id, "Settings changed")))).isEqualTo("Settings changed");
+    }
+
+    @Test
+    void keyedByVersion() throws Exception {
+        write(cluster(id, "Cluster"));
+        var newVersion = cluster(id, "Changed");
+        newVersion.setChangeStamp(new ChangeStamp("user", modified, "user", modified.plusSeconds(1)));
+
+        assertThat(name(write(newVersion))).isEqualTo("Changed");
+    }
+
+    private JsonNode write(Cluster... clusters) throws Exception {
+        var response = new MockHttpServletResponse();
+        cache.writePage(Cluster.class, List.of(clusters), Cluster::convertToResponse, response);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        return JsonUtils.getObjectMapper().readTree(response.getContentAsByteArray());
+    }
+
+    private static String name(JsonNode page) {
+        return page.get("content").get(0).get("name").asText();
+    }
+
+    private static Cluster cluster(UUID id, String name) {
+        return Cluster.builder()
+                .id(id)
+                .name(name)
+                .status(DomainObjectStatus.ACTIVE)
+                .members(List.of(ClusterMember.builder().navIdent(createNavIdent(100)).build()))
+                .changeStamp(new ChangeStamp("user", modified, "user", modified))
+                .build();
+    }
+}
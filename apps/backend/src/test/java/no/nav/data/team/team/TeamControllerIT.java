@@ -27,6 +27,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -176,6 +177,77 @@ public class TeamControllerIT extends IntegrationTestBase {
         assertThat(convert(resp.getBody().getContent(), TeamResponse::getName)).contains("test1");
     }
 
+    @Test
+    void getAllTeamsPagedWithEqualNames() {
+        var ids = new ArrayList<UUID>();
+        ids.add(storageService.save(activeTeamBuilder(null).build()).getId());
+        for (String name : List.of("b", "a", "b", "c", "b")) {
+            ids.add(storageService.save(activeTeamBuilder(name).build()).getId());
+        }
+
+        var teams = getAllPages("/team", 2);
+
+        assertThat(convert(teams, t -> t.path("name").asText(""))).containsExactly("", "a", "b", "b", "b", "c");
+        assertThat(convert(teams, t -> UUID.fromString(t.get("id").asText()))).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void getAllTeamsPagedByClusterAndStatus() {
+        var otherCluster = storageService.save(Cluster.builder().name("other-cluster").build());
+        storageService.save(activeTeamBuilder("name1").clusterIds(List.of(cluster.getId())).build());
+        storageService.save(activeTeamBuilder("name2").clusterIds(List.of(otherCluster.getId(), cluster.getId())).build());
+        storageService.save(activeTeamBuilder("name3").clusterIds(List.of(otherCluster.getId())).build());
+        storageService.save(activeTeamBuilder("name4").clusterIds(List.of(cluster.getId())).status(DomainObjectStatus.INACTIVE).build());
+        storageService.save(activeTeamBuilder("name5").build());
+
+        assertThat(convert(getAllPages("/team?clusterId=" + cluster.getId(), 1), t -> t.get("name").asText())).containsExactly("name1", "name2", "name4");
+        assertThat(convert(getAllPages("/team?clusterId=" + cluster.getId() + "&status=ACTIVE", 1), t -> t.get("name").asText()))
+                .containsExactly("name1", "name2");
+    }
+
+    @Test
+    void getAllTeamsPagedByLocationWithSubLocations() {
+        for (String code : List.of("FA1-BA-E5", "FA1-BB-E1", "FA1-BA-E1")) {
+            storageService.save(activeTeamBuilder("team " + code).officeHours(OfficeHours.builder().locationCode(code).build()).build());
+        }
+
+        assertThat(convert(getAllPages("/team?locationCode=FA1-BA", 1), t -> t.get("name").asText())).containsExactly("team FA1-BA-E1", "team FA1-BA-E5");
+        assertThat(convert(getAllPages("/team?locationCode=FA1-BA-E1", 1), t -> t.get("name").asText())).containsExactly("team FA1-BA-E1");
+        assertThat(getAllPages("/team?locationCode=UNKNOWN", 1)).isEmpty();
+    }
+
+    @Test
+    void locationCodeBackfill() {
+        storageService.save(activeTeamBuilder("test1").officeHours(OfficeHours.builder().locationCode("FA1-BA-E1").build()).build());
+        jdbcTemplate.update("update catalog_projection set location_code = null");
+        assertThat(getAllPages("/team?locationCode=FA1-BA", 10)).isEmpty();
+
+        // the statement V1.16 backfills existing teams with
+        jdbcTemplate.update("update generic_storage set data = data where type = 'Team'");
+
+        assertThat(convert(getAllPages("/team?locationCode=FA1-BA", 10), t -> t.get("name").asText())).containsExactly("test1");
+    }
+
+    @Test
+    void getAllTeamsPagedWithFields() {
+        storageService.save(activeTeamBuilder("name1").members(List.of(TeamMember.builder().navIdent(createNavIdent(0)).build())).build());
+        storageService.save(activeTeamBuilder("name2").build());
+
+        var teams = getAllPages("/team?fields=id,name", 1);
+        assertThat(teams).hasSize(2);
+        teams.forEach(t -> assertThat(t.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name"));
+
+        var withMembers = getAllPages("/team?fields=name,members", 10);
+        assertThat(withMembers.get(0).get("members").get(0).get("resource").get("navIdent").asText()).isEqualTo(createNavIdent(0));
+    }
+
+    @Test
+    void getAllTeamsInvalidPageParameters() {
+        assertThat(restTemplate.getForEntity("/team?limit=0", String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("/team?limit=1001", String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("/team?cursor=invalid", String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
 
     @Test
     void createTeam() {
@@ -17,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
@@ -63,7 +64,7 @@ class TeamExportServiceTest {
                 createTeam(pa2.getId(), cl2.getId(), TeamRole.PRODUCT_OWNER)
         ));
 
-        var doc = service.generate(SpreadsheetType.ALL, null);
+        var doc = generate(SpreadsheetType.ALL, null);
         assertThat(doc).isNotEmpty();
         write(doc);
     }
@@ -73,7 +74,7 @@ class TeamExportServiceTest {
         when(productAreaService.getAll()).thenReturn(List.of(pa1));
         when(teamService.findByProductArea(pa1.getId())).thenReturn(List.of(createTeam(pa1.getId(), null, TeamRole.LEAD)));
 
-        var doc = service.generate(SpreadsheetType.AREA, pa1.getId().toString());
+        var doc = generate(SpreadsheetType.AREA, pa1.getId().toString());
         assertThat(doc).isNotEmpty();
         write(doc);
     }
@@ -83,7 +84,7 @@ class TeamExportServiceTest {
         when(clusterService.getAll()).thenReturn(List.of(cl1));
         when(teamService.findByCluster(cl1.getId())).thenReturn(List.of(createTeam(null, cl1.getId(), TeamRole.LEAD)));
 
-        var doc = service.generate(SpreadsheetType.CLUSTER, cl1.getId().toString());
+        var doc = generate(SpreadsheetType.CLUSTER, cl1.getId().toString());
         assertThat(doc).isNotEmpty();
         write(doc);
     }
@@ -112,6 +113,12 @@ class TeamExportServiceTest {
                 ).build();
     }
 
+    private byte[] generate(SpreadsheetType type, String filter) {
+        var out = new ByteArrayOutputStream();
+        service.generate(type, filter, out);
+        return out.toByteArray();
+    }
+
     private void write(byte[] spreadsheet) throws Exception {
         Path tempFile = Files.createTempFile("spreadsheet", ".xlsx");
 //        Path tempFile = java.nio.file.Paths.get("/Users/s143147/spreadsheet.xlsx");